@@ -28,28 +28,66 @@ import com.sun.source.doctree.DocTree;
 import com.sun.source.doctree.TextTree;
 import com.sun.source.doctree.UnknownInlineTagTree;
 import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ImportTree;
 import com.sun.source.util.DocTrees;
 import com.sun.source.util.SimpleDocTreeVisitor;
 import java.beans.BeanInfo;
 import java.beans.Introspector;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.JarURLConnection;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.QualifiedNameable;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.swing.table.TableModel;
 import javax.tools.Diagnostic;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
@@ -62,7 +100,12 @@ import lombok.ToString;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.w3c.dom.Node;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.joining;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 import static javax.tools.Diagnostic.Kind.WARNING;
 import static javax.xml.transform.OutputKeys.INDENT;
 import static javax.xml.transform.OutputKeys.OMIT_XML_DECLARATION;
@@ -82,6 +125,8 @@ import static org.apache.commons.lang3.StringUtils.isNotEmpty;
  */
 @NoArgsConstructor(access = PROTECTED)
 public abstract class AbstractTaglet extends JavaxLangModelUtilities implements AnnotatedTaglet, JavadocHTMLTemplates, XalanConstants {
+    private static final Pattern HREF = Pattern.compile("href=\"([^\"]*)\"");
+
     private final Transformer transformer;
     private final FluentDocument document;
     private DocletEnvironment env = null;
@@ -89,8 +134,26 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
     /** See {@link DocletEnvironment#getDocTrees()}. */
     protected DocTrees trees = null;
     private Map<String,URI> extern = null;
+    private Function<Path,JarFile> jars = null;
+    private Function<ClassLoader,ClassLoader> loaders = null;
+    private Function<ClassLoader,URLClassLoader> isolated = null;
+    private Map<String,String> options = null;
+    private Map<Element,Map<String,List<Element>>> members = null;
+    private Predicate<Element> included = null;
+    private Map<URI,String> hrefs = null;
+    private final Map<Element,String> paths = new HashMap<>();
+    private final Map<Element,String> prefixes = new HashMap<>();
     private transient ClassLoader loader = null;
+    private transient ExecutorService executor = null;
+    private final ThreadLocal<ClassLoader> isolation = new ThreadLocal<>();
     private transient Method href = null;
+    private transient JavadocHTMLRenderers renderers = null;
+    private final Map<String,Node> markup = new HashMap<>();
+    private final Map<CompilationUnitTree,Map<String,Optional<TypeElement>>> resolved = new WeakHashMap<>();
+    private final String placeholder = "tbody-" + UUID.randomUUID() + "-";
+    private final Pattern placeholders = Pattern.compile(Pattern.quote(placeholder) + "[0-9]+");
+    private final Map<String,Rows> bodies = new ConcurrentHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
 
     {
         try {
@@ -127,18 +190,93 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
         trees = env.getDocTrees();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Table bodies created from a {@link TableModel} (see
+     * {@link #tbody(DocTree,Element,TableModel)}) are rendered row by row
+     * as the output is written.  If the table was created in
+     * {@link #reflect(Callable)}, its rows are rendered within
+     * {@link #reflect(Callable)}, too.</p>
+     */
     @Override
     public String toString(List<? extends DocTree> tags, Element element) {
-        Node node = null;
+        String string = null;
 
         try {
-            node = toNode(tags, element);
+            var node = toNode(tags, element);
+
+            if (bodies.values().stream().anyMatch(t -> t.reflected)) {
+                string = reflect(() -> render(node));
+            } else {
+                string = render(node);
+            }
         } catch (Throwable throwable) {
             print(WARNING, tags.get(0), element, "%s", throwable.toString());
-            node = toNode(tags.get(0), element, throwable);
+            string = render(toNode(tags.get(0), element, throwable));
+        } finally {
+            bodies.clear();
+        }
+
+        if (isNotEmpty(getOption(StandardDoclet.VALIDATE_LINKS))) {
+            collect(tags.get(0), element, string);
+        }
+
+        return string;
+    }
+
+    /*
+     * Collect the generated links (resolved against the page of the
+     * context Element) for StandardDoclet link validation.
+     */
+    private void collect(DocTree tag, Element context, String string) {
+        var path = getPageOf(context);
+        var page = (path != null) ? URI.create(path) : null;
+        var where = String.valueOf(context);
+        var matcher = HREF.matcher(string);
+
+        while (matcher.find()) {
+            var href = matcher.group(1).replace("&amp;", "&");
+
+            if (! href.startsWith("#")) {
+                try {
+                    var uri = new URI(href);
+
+                    if (! uri.isAbsolute()) {
+                        uri = (page != null) ? page.resolve(uri).normalize() : null;
+                    }
+
+                    if (uri != null) {
+                        hrefs().putIfAbsent(uri, where);
+                    }
+                } catch (Exception exception) {
+                    print(WARNING, tag, context, "Invalid link %s", href);
+                }
+            }
+        }
+    }
+
+    /*
+     * The page (relative to the output directory) generated for the
+     * context Element; null if unknown (relative links are then not
+     * collected).
+     */
+    private String getPageOf(Element context) {
+        String page = null;
+
+        if (context instanceof ModuleElement) {
+            page = ((ModuleElement) context).getQualifiedName() + "/module-summary.html";
+        } else if (context instanceof PackageElement) {
+            page =
+                Stream.concat(Stream.of(getComponentsOf((PackageElement) context)), Stream.of("package-summary.html"))
+                .collect(joining("/"));
+        } else if (context instanceof TypeElement) {
+            page = paths.computeIfAbsent(context, this::getPathOf);
+        } else if (context != null && context.getEnclosingElement() != null) {
+            page = getPageOf(context.getEnclosingElement());
         }
 
-        return render(node);
+        return page;
     }
 
     /**
@@ -196,6 +334,16 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
      *                          Instead of checked {@link Exception}.
      */
     protected String render(Node node, int indent) {
+        var string = transform(node, indent);
+
+        if (! bodies.isEmpty()) {
+            string = expand(string, indent);
+        }
+
+        return string;
+    }
+
+    private String transform(Node node, int indent) {
         var writer = new StringWriter();
 
         try {
@@ -213,6 +361,50 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
         return writer.toString();
     }
 
+    /*
+     * Replace each table body placeholder with the body's rows.  Each
+     * row is created, written, and released in turn so at most one row
+     * is held in the DOM.
+     */
+    private String expand(String string, int indent) {
+        var buffer = new StringBuilder();
+        var matcher = placeholders.matcher(string);
+        var start = 0;
+
+        while (matcher.find()) {
+            var body = bodies.remove(matcher.group());
+
+            if (body != null) {
+                buffer.append(string, start, matcher.start());
+
+                for (int y = 0, n = body.model.getRowCount(); y < n; y += 1) {
+                    buffer.append(render(tr(body.tag, body.context, body.model, y), indent));
+                }
+
+                start = matcher.end();
+            }
+        }
+
+        return buffer.append(string, start, string.length()).toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The rows are not added to the DOM.  The table body holds a
+     * placeholder that {@link #render(Node,int)} replaces with the rows,
+     * each rendered as it is written, so the DOM does not grow with the
+     * size of the {@link TableModel}.</p>
+     */
+    @Override
+    public FluentNode tbody(DocTree tag, Element context, TableModel model) {
+        var key = placeholder + count.incrementAndGet();
+
+        bodies.put(key, new Rows(tag, context, model, isolation.get() != null));
+
+        return tbody(text(key));
+    }
+
     /**
      * Method to print a diagnostic message.
      *
@@ -315,15 +507,351 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
         return getBeanInfo(start, Object.class);
     }
 
+    /**
+     * Method to get the {@link JarFile} for a {@code jar:} or
+     * {@code file:} {@link URL}.  The {@link JarFile} is shared for the
+     * duration of the run and must not be closed by the caller.
+     *
+     * @param   url             The {@link URL}.
+     *
+     * @return  The {@link JarFile}.
+     *
+     * @throws  IOException     If the {@link JarFile} cannot be opened.
+     */
+    protected JarFile getJarFile(URL url) throws IOException {
+        JarFile jar = null;
+
+        if (url.getProtocol().equals("jar")) {
+            url = ((JarURLConnection) url.openConnection()).getJarFileURL();
+        }
+
+        try {
+            jar = jars().apply(Paths.get(url.toURI()));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException exception) {
+            throw new IOException("Invalid URL: " + url, exception);
+        }
+
+        return jar;
+    }
+
+    /**
+     * Method to open an {@link InputStream} to a {@link URL}.
+     * {@code jar:} {@link URL}s of entries in {@code file:} jars are read
+     * through the shared {@link JarFile} (see {@link #getJarFile(URL)});
+     * any other {@link URL} is opened with {@link URL#openStream()}.
+     *
+     * @param   url             The {@link URL}.
+     *
+     * @return  The {@link InputStream}.
+     *
+     * @throws  IOException     If the {@link URL} cannot be opened.
+     */
+    protected InputStream getInputStream(URL url) throws IOException {
+        InputStream in = null;
+
+        if (url.getProtocol().equals("jar")) {
+            var connection = url.openConnection();
+            var name = (connection instanceof JarURLConnection) ? ((JarURLConnection) connection).getEntryName() : null;
+
+            if (name != null && ((JarURLConnection) connection).getJarFileURL().getProtocol().equals("file")) {
+                var jar = getJarFile(((JarURLConnection) connection).getJarFileURL());
+                var entry = jar.getEntry(name);
+
+                if (entry == null) {
+                    throw new FileNotFoundException(String.valueOf(url));
+                }
+
+                in = jar.getInputStream(entry);
+            }
+        }
+
+        if (in == null) {
+            in = url.openStream();
+        }
+
+        return in;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The class path {@link ClassLoader} is created once per run and
+     * shared by every {@link AbstractTaglet} (see
+     * {@link ClassLoaderPool}) so documented classes are defined (and
+     * statically initialized) at most once.</p>
+     */
     @Override
     protected ClassLoader getClassLoader() {
+        var loader = isolation.get();
+
         if (loader == null) {
-            loader = getClassPathClassLoader(fm, getClass().getClassLoader());
+            if (this.loader == null) {
+                this.loader = loaders().apply(getClass().getClassLoader());
+            }
+
+            loader = this.loader;
         }
 
         return loader;
     }
 
+    /**
+     * Method to perform reflective access to documented classes (which
+     * may trigger their static initializers).  If the
+     * {@value StandardDoclet#TIMEOUT} option is specified, the
+     * {@link Callable} is run on a worker thread with the run-scoped
+     * isolated class path {@link ClassLoader} (see
+     * {@link ClassLoaderPool#getIsolatedClassLoader(ClassLoader)};
+     * returned by {@link #getClassLoader()} on the worker) and is
+     * cancelled if it does not complete within the time budget.  The
+     * isolated {@link ClassLoader} is reused by subsequent calls and is
+     * discarded (closed) only after a time-out.  The {@link Callable}
+     * should perform the whole operation, including rendering the
+     * result, so it is bounded by the time budget.  Otherwise, the
+     * {@link Callable} is simply called.
+     *
+     * @param   <T>             The type of the result.
+     * @param   callable        The {@link Callable}.
+     *
+     * @return  The result of the {@link Callable}.
+     *
+     * @throws  TimeoutException
+     *                          If the {@link Callable} does not complete
+     *                          within the time budget.
+     * @throws  Exception       If the {@link Callable} throws an
+     *                          {@link Exception}.
+     */
+    protected <T> T reflect(Callable<T> callable) throws Exception {
+        T value = null;
+        var timeout = getOption(StandardDoclet.TIMEOUT);
+
+        if (timeout != null) {
+            if (executor == null) {
+                executor =
+                    new ThreadPoolExecutor(0, 1, 1, SECONDS, new LinkedBlockingQueue<>(),
+                                           t -> {
+                                               var thread = new Thread(t, getName());
+
+                                               thread.setDaemon(true);
+
+                                               return thread;
+                                           });
+            }
+
+            var loader = isolated().apply(getClass().getClassLoader());
+            var future =
+                executor.submit(() -> {
+                        isolation.set(loader);
+
+                        try {
+                            return callable.call();
+                        } finally {
+                            isolation.remove();
+                        }
+                    });
+
+            try {
+                value = future.get(Long.parseLong(timeout), MILLISECONDS);
+            } catch (TimeoutException exception) {
+                /*
+                 * The worker and the isolated ClassLoader (with any
+                 * classes it may have partially initialized) are
+                 * abandoned.
+                 */
+                future.cancel(true);
+                executor.shutdownNow();
+                executor = null;
+                loader.close();
+
+                throw new TimeoutException("Reflective access did not complete within " + timeout + " ms");
+            } catch (ExecutionException exception) {
+                var cause = exception.getCause();
+
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                } else {
+                    throw exception;
+                }
+            }
+        } else {
+            value = callable.call();
+        }
+
+        return value;
+    }
+
+    /**
+     * Method to get the value of a {@link StandardDoclet} option.
+     *
+     * @param   name            The option name.
+     *
+     * @return  The option value; {@code null} if not specified.
+     */
+    protected String getOption(String name) {
+        return options().get(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Specified by the {@value StandardDoclet#RENDER_LIMIT}
+     * option.</p>
+     */
+    @Override
+    public int getRenderLimit() {
+        var value = getOption(StandardDoclet.RENDER_LIMIT);
+
+        return isNotEmpty(value) ? Integer.parseInt(value) : JavadocHTMLTemplates.super.getRenderLimit();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Specified by the {@value StandardDoclet#RENDER_DEPTH}
+     * option.</p>
+     */
+    @Override
+    public int getRenderDepth() {
+        var value = getOption(StandardDoclet.RENDER_DEPTH);
+
+        return isNotEmpty(value) ? Integer.parseInt(value) : JavadocHTMLTemplates.super.getRenderDepth();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>{@link JavadocHTMLRenderer} service providers are loaded once
+     * through the class path {@link ClassLoader} (or through this
+     * {@link jdk.javadoc.doclet.Taglet}'s {@link ClassLoader} if the
+     * {@value StandardDoclet#ELEMENT_MODEL} option is specified).</p>
+     */
+    @Override
+    public FluentNode toHTML(DocTree tag, Element context, Object object) {
+        if (renderers == null) {
+            var loader = getClass().getClassLoader();
+
+            if (! Boolean.parseBoolean(getOption(StandardDoclet.ELEMENT_MODEL))) {
+                loader = loaders().apply(loader);
+            }
+
+            renderers = new JavadocHTMLRenderers(loader);
+        }
+
+        return renderers.toHTML(this, tag, context, object);
+    }
+
+    /**
+     * Method to get the name::members index of a {@link TypeElement}.
+     * The index includes the declared members followed by the members
+     * inherited from the superclass and interfaces (private members,
+     * constructors, initializers, interface static methods, and
+     * package-private members of other packages are excluded).  The
+     * index is computed once per run and is shared by all
+     * {@link AbstractTaglet} implementations.
+     *
+     * @param   type            The {@link TypeElement}.
+     *
+     * @return  The {@link Map} of member simple names to
+     *          {@link Element}s.
+     */
+    protected Map<String,List<Element>> getMembersOf(TypeElement type) {
+        var map = members().get(type);
+
+        if (map == null) {
+            var index = new LinkedHashMap<String,List<Element>>();
+
+            for (var element : type.getEnclosedElements()) {
+                index.computeIfAbsent(element.getSimpleName().toString(), k -> new ArrayList<>())
+                    .add(element);
+            }
+
+            for (var supertype : types.directSupertypes(type.asType())) {
+                var element = types.asElement(supertype);
+
+                if (element instanceof TypeElement) {
+                    getMembersOf((TypeElement) element)
+                        .forEach((k, v) -> {
+                                var list = index.computeIfAbsent(k, t -> new ArrayList<>());
+
+                                v.stream()
+                                    .filter(t -> isInheritedBy(t, type))
+                                    .filter(t -> (! list.contains(t)))
+                                    .forEach(list::add);
+                            });
+                }
+            }
+
+            index.values().removeIf(List::isEmpty);
+
+            index.replaceAll((k, v) -> List.copyOf(v));
+            map = Collections.unmodifiableMap(index);
+
+            var value = members().putIfAbsent(type, map);
+
+            map = (value != null) ? value : map;
+        }
+
+        return map;
+    }
+
+    private boolean isInheritedBy(Element member, TypeElement type) {
+        var inherited = false;
+        var modifiers = member.getModifiers();
+
+        switch (member.getKind()) {
+        case CONSTRUCTOR:
+        case INSTANCE_INIT:
+        case STATIC_INIT:
+            break;
+
+        case METHOD:
+            inherited =
+                (! (modifiers.contains(STATIC)
+                    && member.getEnclosingElement().getKind().isInterface()));
+            break;
+
+        default:
+            inherited = true;
+            break;
+        }
+
+        if (inherited) {
+            if (modifiers.contains(PRIVATE)) {
+                inherited = false;
+            } else if (! (modifiers.contains(PUBLIC) || modifiers.contains(Modifier.PROTECTED))) {
+                inherited =
+                    member.getEnclosingElement().getKind().isInterface()
+                    || elements.getPackageOf(member).equals(elements.getPackageOf(type));
+            }
+        }
+
+        return inherited;
+    }
+
+    /**
+     * Method to get a field of a {@link TypeElement} by name (see
+     * {@link #getMembersOf(TypeElement)}).
+     *
+     * @param   type            The {@link TypeElement}.
+     * @param   name            The field name.
+     *
+     * @return  The {@link VariableElement} or {@code null} if there is
+     *          no such field.
+     */
+    protected VariableElement getFieldOf(TypeElement type, String name) {
+        var field =
+            getMembersOf(type).getOrDefault(name, List.of()).stream()
+            .filter(t -> t.getKind().isField())
+            .map(t -> (VariableElement) t)
+            .findFirst().orElse(null);
+
+        return field;
+    }
+
     @Override
     public URI href(DocTree tag, Element context, Object target) {
         URI uri = null;
@@ -370,12 +898,49 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
     }
 
     private URI href(DocTree tag, Element context, Field target) {
-        return href(tag, context, target.getDeclaringClass(), target.getName());
+        var href = href(tag, context, getMemberOf(target, VariableElement.class));
+
+        if (href == null) {
+            href = href(tag, context, target.getDeclaringClass(), target.getName());
+        }
+
+        return href;
     }
 
     private URI href(DocTree tag, Element context, Method target) {
-        return href(tag, context, target.getDeclaringClass(),
-                    target.getName() + signature(target).replaceAll("[(),]", "-"));
+        var href = href(tag, context, getMemberOf(target, ExecutableElement.class));
+
+        if (href == null) {
+            href =
+                href(tag, context, target.getDeclaringClass(),
+                     target.getName() + signature(target).replaceAll("[(),]", "-"));
+        }
+
+        return href;
+    }
+
+    /*
+     * Find the element for a reflected member in the member index (see
+     * getMembersOf(TypeElement)) of its declaring type.  Methods are
+     * matched by signature.
+     */
+    private <T extends Element> T getMemberOf(Member member, Class<T> kind) {
+        T element = null;
+        var type = asTypeElement(member.getDeclaringClass());
+
+        if (type != null) {
+            element =
+                getMembersOf(type).getOrDefault(member.getName(), List.of()).stream()
+                .filter(t -> t.getEnclosingElement().equals(type))
+                .filter(kind::isInstance)
+                .map(kind::cast)
+                .filter(t -> (! (member instanceof Method))
+                             || Objects.equals(signature((ExecutableElement) t),
+                                               signature((Method) member)))
+                .findFirst().orElse(null);
+        }
+
+        return element;
     }
 
     private URI href(DocTree tag, Element context, TypeElement target) {
@@ -385,7 +950,7 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
     private URI href(DocTree tag, Element context, ExecutableElement target) {
         URI href = null;
 
-        if (target != null && env.isIncluded(target)) {
+        if (target != null && isIncluded(target)) {
             Element enclosing = target.getEnclosingElement();
 
             if (enclosing instanceof TypeElement) {
@@ -401,7 +966,7 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
     private URI href(DocTree tag, Element context, VariableElement target) {
         URI href = null;
 
-        if (target != null && env.isIncluded(target)) {
+        if (target != null && isIncluded(target)) {
             var enclosing = target.getEnclosingElement();
 
             if (enclosing instanceof TypeElement) {
@@ -436,19 +1001,12 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
         URI href = null;
 
         if (target != null) {
-            var path = getCanonicalNameOf(target) + ".html";
+            var path = paths.computeIfAbsent(target, this::getPathOf);
 
-            path =
-                Stream.concat(Stream.of(getComponentsOf(elements.getPackageOf(target))), Stream.of(path))
-                .collect(joining("/"));
+            if (isIncluded(target)) {
+                var prefix = prefixes.computeIfAbsent(elements.getPackageOf(context), this::getPrefixOf);
 
-            if (env.isIncluded(target)) {
-                int depth = getComponentsOf(elements.getPackageOf(context)).length;
-                path =
-                    Stream.concat(Stream.generate(() -> "..").limit(depth), Stream.of(path))
-                    .collect(joining("/"));
-
-                href = href(null, path, fragment);
+                href = href(null, prefix + path, fragment);
             } else {
                 href = extern(tag, context).get(elements.getPackageOf(target));
 
@@ -461,6 +1019,19 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
         return href;
     }
 
+    private String getPathOf(Element target) {
+        var path =
+            Stream.concat(Stream.of(getComponentsOf(elements.getPackageOf(target))),
+                          Stream.of(getCanonicalNameOf((TypeElement) target) + ".html"))
+            .collect(joining("/"));
+
+        return path;
+    }
+
+    private String getPrefixOf(Element pkg) {
+        return "../".repeat(getComponentsOf((PackageElement) pkg).length);
+    }
+
     private URI href(URI base, String path, String fragment) {
         URI href = null;
 
@@ -483,12 +1054,7 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
     private Map<String,URI> extern(DocTree tag, Element context) {
         if (extern == null) {
             try {
-                /*
-                 * The Javadoc tool creates each Doclet and Taglet class in
-                 * a different ClassLoader necessitating access by
-                 * reflection look-up.
-                 */
-                extern = (Map<String,URI>) doclet.getClass().getField("extern").get(doclet);
+                extern = (Map<String,URI>) getDocletField("extern");
             } catch (Exception exception) {
                 extern = new Extern();
                 print(WARNING, tag, context,
@@ -499,6 +1065,117 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
         return extern;
     }
 
+    @SuppressWarnings({ "unchecked" })
+    private Function<Path,JarFile> jars() {
+        if (jars == null) {
+            try {
+                jars = (Function<Path,JarFile>) getDocletField("jars");
+            } catch (Exception exception) {
+                jars = new JarFilePool();
+            }
+        }
+
+        return jars;
+    }
+
+    private Function<ClassLoader,ClassLoader> loaders() {
+        if (loaders == null) {
+            pool();
+        }
+
+        return loaders;
+    }
+
+    private Function<ClassLoader,URLClassLoader> isolated() {
+        if (isolated == null) {
+            pool();
+        }
+
+        return isolated;
+    }
+
+    @SuppressWarnings({ "unchecked" })
+    private void pool() {
+        try {
+            loaders = (Function<ClassLoader,ClassLoader>) getDocletField("loader");
+            isolated = (Function<ClassLoader,URLClassLoader>) getDocletField("isolated");
+        } catch (Exception exception) {
+            var cache = getOption(StandardDoclet.CLASSPATH_INDEX);
+            var pool =
+                new ClassLoaderPool(ClassLoaderPool.getClassPathOf(fm), jars(),
+                                    (cache != null) ? Paths.get(cache) : null);
+
+            loaders = pool::getClassLoader;
+            isolated = pool::getIsolatedClassLoader;
+        }
+    }
+
+    @SuppressWarnings({ "unchecked" })
+    private Map<String,String> options() {
+        if (options == null) {
+            try {
+                options = (Map<String,String>) getDocletField("options");
+            } catch (Exception exception) {
+                options = Map.of();
+            }
+        }
+
+        return options;
+    }
+
+    @SuppressWarnings({ "unchecked" })
+    private Map<Element,Map<String,List<Element>>> members() {
+        if (members == null) {
+            try {
+                members = (Map<Element,Map<String,List<Element>>>) getDocletField("members");
+            } catch (Exception exception) {
+                members = new ConcurrentHashMap<>();
+            }
+        }
+
+        return members;
+    }
+
+    private boolean isIncluded(Element element) {
+        if (included == null) {
+            try {
+                @SuppressWarnings({ "unchecked" })
+                var set = (Set<Element>) getDocletField("included");
+
+                included = set::contains;
+            } catch (Exception exception) {
+                var map = new HashMap<Element,Boolean>();
+
+                included = t -> map.computeIfAbsent(t, env::isIncluded);
+            }
+        }
+
+        return included.test(element);
+    }
+
+    @SuppressWarnings({ "unchecked" })
+    private Map<URI,String> hrefs() {
+        if (hrefs == null) {
+            try {
+                hrefs = (Map<URI,String>) getDocletField("hrefs");
+            } catch (Exception exception) {
+                hrefs = new ConcurrentHashMap<>();
+            }
+        }
+
+        return hrefs;
+    }
+
+    private Object getDocletField(String name) throws Exception {
+        /*
+         * The Javadoc tool creates each Doclet and Taglet class in a
+         * different ClassLoader necessitating access by reflection look-up.
+         * Shared values must be of types loaded by the bootstrap
+         * ClassLoader.
+         */
+        return doclet.getClass().getField(name).get(doclet);
+    }
+
     private String[] getComponentsOf(Package pkg) {
         return (pkg == null) ? new String[] { } : getComponentsOf(pkg.getName());
     }
@@ -530,6 +1207,92 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
         return string;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The markup is created once for each type and context package
+     * and a copy is returned on subsequent calls.</p>
+     */
+    @Override
+    public FluentNode type(DocTree tag, Element context, TypeMirror type) {
+        var key = getKeyOf(context, type);
+        var node = markup.get(key);
+
+        if (node == null) {
+            node = JavadocHTMLTemplates.super.type(tag, context, type);
+            markup.put(key, node);
+        }
+
+        return fragment(node.cloneNode(true));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The markup is created once for each type and context package
+     * and a copy is returned on subsequent calls.</p>
+     */
+    @Override
+    public FluentNode type(DocTree tag, Element context, Type type) {
+        var key = getKeyOf(context, type);
+        var node = markup.get(key);
+
+        if (node == null) {
+            node = JavadocHTMLTemplates.super.type(tag, context, type);
+            markup.put(key, node);
+        }
+
+        return fragment(node.cloneNode(true));
+    }
+
+    private String getKeyOf(Element context, Object type) {
+        var pkg = (context != null) ? elements.getPackageOf(context) : null;
+
+        return ((pkg != null) ? pkg.getQualifiedName() : EMPTY) + SPACE + getKeyOf(type);
+    }
+
+    /*
+     * Unambiguous String representation of a type (type variables are
+     * qualified by their generic declaration).
+     */
+    private String getKeyOf(Object type) {
+        String key = null;
+
+        if (type instanceof DeclaredType) {
+            var arguments = ((DeclaredType) type).getTypeArguments();
+
+            key = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+
+            if (! arguments.isEmpty()) {
+                key += arguments.stream().map(this::getKeyOf).collect(joining(",", "<", ">"));
+            }
+        } else if (type instanceof javax.lang.model.type.TypeVariable) {
+            var element = ((javax.lang.model.type.TypeVariable) type).asElement();
+
+            key = "{" + element.getEnclosingElement() + "}" + element.getSimpleName();
+        } else if (type instanceof ArrayType) {
+            key = getKeyOf(((ArrayType) type).getComponentType()) + "[]";
+        } else if (type instanceof Class<?>) {
+            key = "class " + ((Class<?>) type).getName();
+        } else if (type instanceof ParameterizedType) {
+            key =
+                getKeyOf(((ParameterizedType) type).getRawType())
+                + Stream.of(((ParameterizedType) type).getActualTypeArguments())
+                  .map(this::getKeyOf)
+                  .collect(joining(",", "<", ">"));
+        } else if (type instanceof java.lang.reflect.TypeVariable<?>) {
+            var variable = (java.lang.reflect.TypeVariable<?>) type;
+
+            key = "{" + variable.getGenericDeclaration() + "}" + variable.getName();
+        } else if (type instanceof Type) {
+            key = "type " + ((Type) type).getTypeName();
+        } else {
+            key = String.valueOf(type);
+        }
+
+        return key;
+    }
+
     @Override
     public FluentNode a(DocTree tag, Element element, TypeElement target, Node node) {
         URI href = href(tag, element, target);
@@ -585,7 +1348,7 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
 
     @Override
     public FluentNode a(DocTree tag, Element element, String name, Node node) {
-        TypeElement target = null;
+        var target = resolve(element, name);
 
         if (node == null) {
             if (target != null) {
@@ -598,6 +1361,119 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
         return a(tag, element, target, node);
     }
 
+    /**
+     * Method to resolve a (simple, partially qualified, qualified, or
+     * binary) type name in the context of an {@link Element}.  Names are
+     * resolved (in order) against the enclosing types (and their
+     * member types), the single-type imports, the package, the on-demand
+     * imports, and {@code java.lang} of the context's compilation unit
+     * before a fully qualified look-up.  Results are cached per
+     * compilation unit.
+     *
+     * @param   context         The context {@link Element}.
+     * @param   name            The type name.
+     *
+     * @return  The {@link TypeElement} or {@code null} if the name cannot
+     *          be resolved.
+     */
+    protected TypeElement resolve(Element context, String name) {
+        var path = (context != null) ? trees.getPath(context) : null;
+        var unit = (path != null) ? path.getCompilationUnit() : null;
+        var scope = context;
+
+        while (scope != null && (! (scope instanceof TypeElement))) {
+            scope = scope.getEnclosingElement();
+        }
+
+        var type = (TypeElement) scope;
+        var pkg = (context != null) ? elements.getPackageOf(context) : null;
+        var key = ((type != null) ? type.getQualifiedName() : EMPTY) + SPACE + name;
+        var map = resolved.computeIfAbsent(unit, k -> new HashMap<>());
+        var value = map.get(key);
+
+        if (value == null) {
+            value = Optional.ofNullable(resolve(unit, type, pkg, name.trim().replace('$', '.')));
+            map.put(key, value);
+        }
+
+        return value.orElse(null);
+    }
+
+    private TypeElement resolve(CompilationUnitTree unit, TypeElement scope, PackageElement pkg, String name) {
+        var components = name.split(Pattern.quote("."));
+        var type = resolveSimpleName(unit, scope, pkg, components[0]);
+
+        for (int i = 1; type != null && i < components.length; i += 1) {
+            type = getMemberTypeOf(type, components[i]);
+        }
+
+        if (type == null && components.length > 1) {
+            type = elements.getTypeElement(name);
+        }
+
+        return type;
+    }
+
+    private TypeElement resolveSimpleName(CompilationUnitTree unit, TypeElement scope, PackageElement pkg, String name) {
+        TypeElement type = null;
+
+        for (var element = scope; type == null && element != null; element = getEnclosingTypeOf(element)) {
+            if (element.getSimpleName().contentEquals(name)) {
+                type = element;
+            } else {
+                type = getMemberTypeOf(element, name);
+            }
+        }
+
+        var imports = (unit != null) ? unit.getImports() : List.<ImportTree>of();
+
+        for (var tree : imports) {
+            if (type == null && (! tree.isStatic())) {
+                var qualified = tree.getQualifiedIdentifier().toString();
+
+                if (qualified.endsWith("." + name)) {
+                    type = elements.getTypeElement(qualified);
+                }
+            }
+        }
+
+        if (type == null && pkg != null) {
+            type = elements.getTypeElement(pkg.isUnnamed() ? name : (pkg.getQualifiedName() + "." + name));
+        }
+
+        for (var tree : imports) {
+            if (type == null && (! tree.isStatic())) {
+                var qualified = tree.getQualifiedIdentifier().toString();
+
+                if (qualified.endsWith(".*")) {
+                    type = elements.getTypeElement(qualified.substring(0, qualified.length() - 1) + name);
+                }
+            }
+        }
+
+        if (type == null) {
+            type = elements.getTypeElement("java.lang." + name);
+        }
+
+        return type;
+    }
+
+    private TypeElement getEnclosingTypeOf(TypeElement type) {
+        var element = type.getEnclosingElement();
+
+        return (element instanceof TypeElement) ? (TypeElement) element : null;
+    }
+
+    private TypeElement getMemberTypeOf(TypeElement type, String name) {
+        var member =
+            getMembersOf(type).getOrDefault(name, List.of()).stream()
+            .filter(t -> t instanceof TypeElement)
+            .map(t -> (TypeElement) t)
+            .findFirst().orElse(null);
+
+        return member;
+    }
+
     /**
      * Method to get the text ({@link String}) associated with a tag
      * ({link DocTree}).
@@ -631,4 +1507,18 @@ public abstract class AbstractTaglet extends JavaxLangModelUtilities implements
         @Override
         protected String defaultAction(DocTree node, Void p) { return EMPTY; }
     }
+
+    private static class Rows {
+        public final DocTree tag;
+        public final Element context;
+        public final TableModel model;
+        public final boolean reflected;
+
+        public Rows(DocTree tag, Element context, TableModel model, boolean reflected) {
+            this.tag = tag;
+            this.context = context;
+            this.model = model;
+            this.reflected = reflected;
+        }
+    }
 }
@@ -22,14 +22,28 @@ import ball.annotation.ServiceProviderFor;
 import ball.util.ant.taskdefs.AntTask;
 import ball.xml.FluentNode;
 import com.sun.source.doctree.UnknownInlineTagTree;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
 import jdk.javadoc.doclet.Taglet;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
@@ -40,7 +54,10 @@ import org.apache.tools.ant.Task;
 import org.apache.tools.ant.taskdefs.Antlib;
 import org.w3c.dom.Node;
 
+import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static javax.tools.Diagnostic.Kind.WARNING;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.apache.tools.ant.MagicNames.ANTLIB_PREFIX;
@@ -49,6 +66,17 @@ import static org.apache.tools.ant.MagicNames.ANTLIB_PREFIX;
  * Inline {@link Taglet} to document {@link.uri http://ant.apache.org/ Ant}
  * {@link Task}s.
  *
+ * <p>The {@code antlib.xml} located for each package and the task
+ * class-to-name mapping defined by each antlib are computed once and
+ * cached for the duration of the run.  Antlibs consisting solely of
+ * {@code <taskdef/>} and {@code <typedef/>} declarations are parsed
+ * directly; any other antlib is executed in an Ant {@link Project}.
+ * The attributes and nested elements of each type are likewise computed
+ * once.  Nested element expansion may be limited in depth and size with
+ * the {@value StandardDoclet#ANT_DEPTH} (default 8) and
+ * {@value StandardDoclet#ANT_LIMIT} (default 1024) options
+ * (truncation is reported).</p>
+ *
  * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
  */
 @TagletName("ant.task")
@@ -61,6 +89,30 @@ public class AntTaskTaglet extends AbstractInlineTaglet {
     private static final String INDENTATION = "  ";
 
     private static final String DOCUMENTED = "DOCUMENTED";
+    private static final String TRUNCATED = "TRUNCATED";
+    private static final int MAX_DEPTH = 8;
+    private static final int MAX_SIZE = 1024;
+
+    private static final String ANTLIB_XML = "antlib.xml";
+
+    private static final String ANTLIB = "antlib";
+    private static final Set<String> DEFINITIONS = Set.of("taskdef", "typedef");
+    private static final String NAME = "name";
+    private static final String CLASSNAME = "classname";
+    private static final String ONERROR = "onerror";
+
+    /*
+     * The values do not reference the ClassLoader so the entries may be
+     * collected.
+     */
+    private final Map<ClassLoader,Map<String,Optional<URL>>> urls =
+        Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<String,Optional<Map<String,String>>> antlibs = new ConcurrentHashMap<>();
+    private final ClassValue<Structure> structures =
+        new ClassValue<>() {
+            @Override
+            protected Structure computeValue(Class<?> type) { return new Structure(type); }
+        };
 
     @Override
     public FluentNode toNode(UnknownInlineTagTree tag, Element context) throws Throwable {
@@ -79,29 +131,36 @@ public class AntTaskTaglet extends AbstractInlineTaglet {
                                                + " is not a subclass of " + Task.class.getCanonicalName());
         }
 
-        var template =
-            render(template(tag, context, asClass(type)), INDENTATION.length())
-            .replaceAll(Pattern.quote(DOCUMENTED + "=\"\""), "...");
+        var template = render(template(tag, context, type, asClass(type)), INDENTATION.length());
+
+        if (template.contains(TRUNCATED + "=\"\"")) {
+            print(WARNING, tag, context,
+                  "%s: Nested elements truncated (see %s and %s)",
+                  type.getQualifiedName(), StandardDoclet.RENDER_DEPTH, StandardDoclet.RENDER_LIMIT);
+        }
+
+        template = template.replaceAll(Pattern.quote(DOCUMENTED + "=\"\"") + "|" + Pattern.quote(TRUNCATED + "=\"\""), "...");
 
         return div(attr("class", "block"), pre("xml", template));
     }
 
-    private FluentNode template(UnknownInlineTagTree tag, Element context, Class<?> type) {
+    private FluentNode template(UnknownInlineTagTree tag, Element context, TypeElement element, Class<?> type) {
         String name = null;
 
         if (name == null) {
-            var project = new Project();
             var pkg = type.getPackage().getName();
 
             while (pkg != null) {
-                var url = type.getResource("/" + String.join("/", pkg.split(Pattern.quote("."))) + "/antlib.xml");
+                var url = getAntlibURL(type, pkg);
 
                 if (url != null) {
-                    try {
-                        Antlib.createAntlib(project, url, ANTLIB_PREFIX + pkg)
-                            .execute();
+                    var prefix = ANTLIB_PREFIX + pkg;
+                    var map =
+                        antlibs.computeIfAbsent(url.toExternalForm(), k -> getTaskNamesOf(tag, context, url, prefix));
+
+                    if (map.isPresent()) {
+                        name = map.get().get(type.getName());
                         break;
-                    } catch (Exception exception) {
                     }
                 }
 
@@ -113,18 +172,10 @@ public class AntTaskTaglet extends AbstractInlineTaglet {
                     pkg = null;
                 }
             }
-
-            var helper = ComponentHelper.getComponentHelper(project);
-
-            name =
-                helper.getTaskDefinitions().entrySet().stream()
-                .filter(t -> t.getValue().equals(type))
-                .map(t -> t.getKey())
-                .findFirst().orElse(null);
         }
 
         if (name == null) {
-            var annotation = type.getAnnotation(AntTask.class);
+            var annotation = element.getAnnotation(AntTask.class);
 
             name = (annotation != null) ? annotation.value() : null;
         }
@@ -136,16 +187,134 @@ public class AntTaskTaglet extends AbstractInlineTaglet {
         return type(0, new HashSet<>(), tag, context, new SimpleEntry<>(name, type));
     }
 
+    /*
+     * A failure is reported once and cached as an empty Optional.
+     */
+    private Optional<Map<String,String>> getTaskNamesOf(UnknownInlineTagTree tag, Element context, URL url, String prefix) {
+        var map = parseTaskNamesOf(url);
+
+        if (map == null) {
+            try {
+                var project = new Project();
+
+                Antlib.createAntlib(project, url, prefix).execute();
+
+                map = new HashMap<>();
+
+                for (var entry : ComponentHelper.getComponentHelper(project).getTaskDefinitions().entrySet()) {
+                    map.putIfAbsent(entry.getValue().getName(), entry.getKey());
+                }
+            } catch (Exception exception) {
+                print(WARNING, tag, context, "%s: %s", url, exception.getMessage());
+
+                map = null;
+            }
+        }
+
+        return Optional.ofNullable(map).map(Collections::unmodifiableMap);
+    }
+
+    /*
+     * Parse the <taskdef/> and <typedef/> declarations of an antlib.xml
+     * into a class name-to-task name Map.  Returns null if the antlib
+     * contains any construct that requires Ant to interpret.
+     */
+    private Map<String,String> parseTaskNamesOf(URL url) {
+        Map<String,String> map = new HashMap<>();
+
+        try (var in = getInputStream(url)) {
+            var factory = XMLInputFactory.newFactory();
+
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+            var reader = factory.createXMLStreamReader(in);
+
+            try {
+                var depth = 0;
+
+                while (map != null && reader.hasNext()) {
+                    switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth += 1;
+
+                        var element = reader.getLocalName();
+
+                        if (depth == 1) {
+                            if (! element.equals(ANTLIB)) {
+                                map = null;
+                            }
+                        } else if (depth == 2 && DEFINITIONS.contains(element)) {
+                            String name = null;
+                            String classname = null;
+
+                            for (int i = 0, n = reader.getAttributeCount(); i < n; i += 1) {
+                                var attribute = reader.getAttributeLocalName(i);
+
+                                if (attribute.equals(NAME)) {
+                                    name = reader.getAttributeValue(i);
+                                } else if (attribute.equals(CLASSNAME)) {
+                                    classname = reader.getAttributeValue(i);
+                                } else if (! attribute.equals(ONERROR)) {
+                                    map = null;
+                                }
+                            }
+
+                            if (map != null && name != null && classname != null) {
+                                map.putIfAbsent(classname, name);
+                            } else {
+                                map = null;
+                            }
+                        } else {
+                            map = null;
+                        }
+                        break;
+
+                    case XMLStreamConstants.END_ELEMENT:
+                        depth -= 1;
+                        break;
+
+                    default:
+                        break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException exception) {
+            map = null;
+        }
+
+        return map;
+    }
+
+    private URL getAntlibURL(Class<?> type, String pkg) {
+        var name = String.join("/", pkg.split(Pattern.quote("."))) + "/" + ANTLIB_XML;
+        var map = urls.computeIfAbsent(type.getClassLoader(), k -> new ConcurrentHashMap<>());
+
+        return map.computeIfAbsent(name, k -> Optional.ofNullable(type.getResource("/" + k))).orElse(null);
+    }
+
+    private int getLimit(String name, int limit) {
+        var value = getOption(name);
+
+        return isNotEmpty(value) ? Integer.parseInt(value) : limit;
+    }
+
     private FluentNode type(int depth, Set<Map.Entry<?,?>> set, UnknownInlineTagTree tag, Element context, Map.Entry<String,Class<?>> entry) {
-        var helper = IntrospectionHelper.getHelper(entry.getValue());
         var node = element(entry.getKey());
 
-        if (set.add(entry) && (! entry.getValue().getName().startsWith(Task.class.getPackage().getName()))) {
+        if (! (depth < getLimit(StandardDoclet.ANT_DEPTH, MAX_DEPTH)
+               && set.size() < getLimit(StandardDoclet.ANT_LIMIT, MAX_SIZE))) {
+            node.add(attr(TRUNCATED));
+        } else if (set.add(entry) && (! entry.getValue().getName().startsWith(Task.class.getPackage().getName()))) {
+            var structure = structures.get(entry.getValue());
+
             node
-                .add(attributes(tag, context, helper))
-                .add(content(depth + 1, set, tag, context, helper));
+                .add(attributes(tag, context, structure))
+                .add(content(depth + 1, set, tag, context, structure));
 
-            if (helper.supportsCharacters()) {
+            if (structure.characters) {
                 var content = "... text ...";
 
                 if (node.hasChildNodes()) {
@@ -164,17 +333,57 @@ public class AntTaskTaglet extends AbstractInlineTaglet {
         return node;
     }
 
-    private Node[] attributes(UnknownInlineTagTree tag, Element context, IntrospectionHelper helper) {
+    private Node[] attributes(UnknownInlineTagTree tag, Element context, Structure structure) {
         var array =
-            helper.getAttributeMap().entrySet().stream()
-            .map(t -> attr(t.getKey(), t.getValue().getSimpleName()))
+            structure.attributes.entrySet().stream()
+            .map(t -> attr(t.getKey(), t.getValue()))
             .toArray(Node[]::new);
 
         return array;
     }
 
-    private FluentNode content(int depth, Set<Map.Entry<?,?>> set, UnknownInlineTagTree tag, Element context, IntrospectionHelper helper) {
-        return fragment(helper.getNestedElementMap().entrySet().stream()
+    private FluentNode content(int depth, Set<Map.Entry<?,?>> set, UnknownInlineTagTree tag, Element context, Structure structure) {
+        return fragment(structure.nested.stream()
                         .map(t -> type(depth, set, tag, context, t)));
     }
+
+    /*
+     * The attributes, nested elements, and character support of a type
+     * (as reported by its IntrospectionHelper).  The IntrospectionHelper
+     * is the one visible to the type's ClassLoader (which may not be the
+     * Ant loaded with this Taglet) and is accessed reflectively.
+     */
+    private static class Structure {
+        public final Map<String,String> attributes;
+        public final List<Map.Entry<String,Class<?>>> nested;
+        public final boolean characters;
+
+        @SuppressWarnings({ "unchecked" })
+        public Structure(Class<?> type) {
+            try {
+                var loader = type.getClassLoader();
+                var helperClass =
+                    (loader != null)
+                        ? Class.forName(IntrospectionHelper.class.getName(), true, loader)
+                        : IntrospectionHelper.class;
+                var helper = helperClass.getMethod("getHelper", Class.class).invoke(null, type);
+                var attributes = new LinkedHashMap<String,String>();
+
+                ((Map<String,Class<?>>) helperClass.getMethod("getAttributeMap").invoke(helper))
+                    .forEach((k, v) -> attributes.put(k, v.getSimpleName()));
+
+                this.attributes = Collections.unmodifiableMap(attributes);
+                this.nested =
+                    ((Map<String,Class<?>>) helperClass.getMethod("getNestedElementMap").invoke(helper))
+                    .entrySet().stream()
+                    .<Map.Entry<String,Class<?>>>map(t -> new SimpleImmutableEntry<>(t.getKey(), t.getValue()))
+                    .collect(collectingAndThen(toList(), Collections::unmodifiableList));
+                this.characters = (Boolean) helperClass.getMethod("supportsCharacters").invoke(helper);
+            } catch (InvocationTargetException exception) {
+                throw new IllegalStateException(exception.getCause());
+            } catch (ReflectiveOperationException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+    }
 }
@@ -22,12 +22,27 @@ import ball.annotation.ServiceProviderFor;
 import ball.beans.PropertyDescriptorsTableModel;
 import ball.xml.FluentNode;
 import com.sun.source.doctree.UnknownInlineTagTree;
+import java.beans.Introspector;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.swing.table.AbstractTableModel;
 import jdk.javadoc.doclet.Taglet;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.util.ElementFilter.methodsIn;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 /**
@@ -38,12 +53,21 @@ import static org.apache.commons.lang3.StringUtils.isNotEmpty;
  *
  * {@bean.info}
  *
+ * <p>If the {@value StandardDoclet#ELEMENT_MODEL} option is specified,
+ * the properties are computed from the {@link javax.lang.model} element
+ * model ({@code get*}, {@code is*}, and {@code set*}
+ * {@link ExecutableElement}s as members of the documented type so
+ * inherited generic accessors report the bound type arguments) without
+ * loading any classes.</p>
+ *
  * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
  */
 @TagletName("bean.info")
 @ServiceProviderFor({ Taglet.class })
 @NoArgsConstructor @ToString
 public class BeanInfoTaglet extends AbstractInlineTaglet {
+    private final Map<TypeElement,List<Property>> cache = new HashMap<>();
+
     @Override
     public FluentNode toNode(UnknownInlineTagTree tag, Element context) throws Throwable {
         TypeElement type = null;
@@ -55,10 +79,178 @@ public class BeanInfoTaglet extends AbstractInlineTaglet {
             type = getEnclosingTypeElement(context);
         }
 
-        var model = new PropertyDescriptorsTableModel(getBeanInfo(asClass(type)).getPropertyDescriptors());
+        FluentNode table = null;
+
+        if (Boolean.parseBoolean(getOption(StandardDoclet.ELEMENT_MODEL))) {
+            table = table(tag, context, new PropertiesTableModel(cache.computeIfAbsent(type, this::getPropertiesOf)));
+        } else {
+            var element = type;
+
+            table =
+                reflect(() -> table(tag, context,
+                                    new PropertyDescriptorsTableModel(getBeanInfo(asClass(element)).getPropertyDescriptors())));
+        }
 
         return div(attr("class", "summary"),
                    h3("Bean Property Summary"),
-                   table(tag, context, model));
+                   table);
+    }
+
+    private List<Property> getPropertiesOf(TypeElement type) {
+        var map = new TreeMap<String,Property>();
+        var methods =
+            methodsIn(elements.getAllMembers(type)).stream()
+            .filter(t -> t.getModifiers().contains(PUBLIC))
+            .filter(t -> (! t.getModifiers().contains(STATIC)))
+            .filter(t -> (! isObjectMethod(t)))
+            .toArray(ExecutableElement[]::new);
+
+        var declared = (DeclaredType) type.asType();
+
+        for (var method : methods) {
+            var name = method.getSimpleName().toString();
+            var parameters = method.getParameters();
+            var returnType = ((ExecutableType) types.asMemberOf(declared, method)).getReturnType();
+
+            if (parameters.isEmpty() && returnType.getKind() != TypeKind.VOID) {
+                if (name.startsWith("is") && name.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+                    var property = map.computeIfAbsent(Introspector.decapitalize(name.substring(2)), Property::new);
+
+                    property.type = returnType;
+                    property.getter = method;
+                } else if (name.startsWith("get") && name.length() > 3) {
+                    var property = map.computeIfAbsent(Introspector.decapitalize(name.substring(3)), Property::new);
+
+                    if (property.getter == null) {
+                        property.type = returnType;
+                        property.getter = method;
+                    }
+                }
+            }
+        }
+
+        for (var method : methods) {
+            var name = method.getSimpleName().toString();
+            var parameters = method.getParameters();
+
+            if (parameters.size() == 1 && method.getReturnType().getKind() == TypeKind.VOID
+                && name.startsWith("set") && name.length() > 3) {
+                var property = map.computeIfAbsent(Introspector.decapitalize(name.substring(3)), Property::new);
+                var parameter = ((ExecutableType) types.asMemberOf(declared, method)).getParameterTypes().get(0);
+
+                if (property.type == null) {
+                    property.type = parameter;
+                }
+
+                if (property.setter == null && types.isSameType(property.type, parameter)) {
+                    property.setter = method;
+                }
+            }
+        }
+
+        var bound =
+            methodsIn(elements.getAllMembers(type)).stream()
+            .filter(t -> t.getSimpleName().contentEquals("addPropertyChangeListener"))
+            .anyMatch(t -> (t.getParameters().size() == 1
+                            && isNamed(t.getParameters().get(0).asType(), "java.beans.PropertyChangeListener")));
+        var list = new ArrayList<Property>();
+
+        for (var property : map.values()) {
+            if (property.getter != null || property.setter != null) {
+                property.bound = bound;
+                property.constrained =
+                    (property.setter != null)
+                    && property.setter.getThrownTypes().stream()
+                       .anyMatch(t -> isNamed(t, "java.beans.PropertyVetoException"));
+
+                list.add(property);
+            }
+        }
+
+        return list;
+    }
+
+    private boolean isObjectMethod(ExecutableElement method) {
+        var type = (TypeElement) method.getEnclosingElement();
+
+        return type.getQualifiedName().contentEquals(Object.class.getName());
+    }
+
+    private boolean isNamed(TypeMirror type, String name) {
+        var element = types.asElement(type);
+
+        return (element instanceof TypeElement) && ((TypeElement) element).getQualifiedName().contentEquals(name);
+    }
+
+    @ToString
+    private static class Property {
+        public final String name;
+        public TypeMirror type = null;
+        public ExecutableElement getter = null;
+        public ExecutableElement setter = null;
+        public boolean bound = false;
+        public boolean constrained = false;
+
+        public Property(String name) { this.name = name; }
+
+        public String getMode() {
+            return ((getter != null) ? "R" : "") + ((setter != null) ? "W" : "");
+        }
+    }
+
+    @ToString
+    private static class PropertiesTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 4373412427346416528L;
+
+        private static final String[] NAMES = {
+            "Name", "Mode", "Type", "isHidden", "isBound", "isConstrained"
+        };
+
+        private final List<Property> list;
+
+        public PropertiesTableModel(List<Property> list) { this.list = list; }
+
+        @Override
+        public String getColumnName(int x) { return NAMES[x]; }
+
+        @Override
+        public int getColumnCount() { return NAMES.length; }
+
+        @Override
+        public int getRowCount() { return list.size(); }
+
+        @Override
+        public Object getValueAt(int y, int x) {
+            Object value = null;
+            var row = list.get(y);
+
+            switch (x) {
+            case 0:
+                value = row.name;
+                break;
+
+            case 1:
+                value = row.getMode();
+                break;
+
+            case 2:
+                value = row.type;
+                break;
+
+            case 3:
+                value = false;
+                break;
+
+            case 4:
+                value = row.bound;
+                break;
+
+            case 5:
+                value = row.constrained;
+                break;
+            }
+
+            return value;
+        }
     }
 }
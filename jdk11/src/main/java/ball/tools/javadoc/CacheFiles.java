@@ -0,0 +1,94 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.NoArgsConstructor;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Support for the files {@link StandardDoclet} and its
+ * {@link jdk.javadoc.doclet.Taglet}s persist between runs (class path,
+ * link, man page, and RFC indexes).  These files are an optimization
+ * only: a file that cannot be written is simply recomputed on the next
+ * run.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+@NoArgsConstructor(access = PRIVATE)
+class CacheFiles {
+
+    /**
+     * Method to write a file atomically.  The contents are written to a
+     * temporary file in the target's directory (created if necessary)
+     * which then replaces the target so concurrent readers never see a
+     * partial file.  Failures are not reported.
+     *
+     * @param   path            The target {@link Path}.
+     * @param   consumer        The {@link IOConsumer} to write the
+     *                          contents to the temporary {@link Path}.
+     *
+     * @return  {@code true} if the file was written; {@code false}
+     *          otherwise.
+     */
+    public static boolean writeAtomically(Path path, IOConsumer<Path> consumer) {
+        var written = false;
+        Path temporary = null;
+
+        try {
+            var parent = path.toAbsolutePath().getParent();
+
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+            consumer.accept(temporary);
+            Files.move(temporary, path, REPLACE_EXISTING, ATOMIC_MOVE);
+
+            written = true;
+        } catch (Exception exception) {
+            try {
+                if (temporary != null) {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException suppressed) {
+            }
+        }
+
+        return written;
+    }
+
+    /**
+     * {@link java.util.function.Consumer} that may throw
+     * {@link IOException}.
+     *
+     * @param   <T>             The type of the argument.
+     */
+    @FunctionalInterface
+    public interface IOConsumer<T> {
+        public void accept(T argument) throws IOException;
+    }
+}
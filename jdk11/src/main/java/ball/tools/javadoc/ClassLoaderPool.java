@@ -0,0 +1,247 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.jar.JarFile;
+import javax.tools.JavaFileManager;
+import javax.tools.StandardJavaFileManager;
+import lombok.ToString;
+
+import static javax.tools.StandardLocation.CLASS_PATH;
+
+/**
+ * Run-scoped class path {@link ClassLoader} for {@link AbstractTaglet}
+ * implementations.  A single {@link ClassPathIndexClassLoader} is
+ * created on first reference (see {@link #getClassLoader(ClassLoader)})
+ * and shared by every {@link AbstractTaglet} regardless of the
+ * {@link ClassLoader} that loaded the {@link AbstractTaglet} so
+ * documented classes are defined (and statically initialized) at most
+ * once per run.  {@link #newClassLoader(ClassLoader)} creates isolated
+ * {@link ClassLoader}s that share the class path index (without
+ * rescanning the class path) but define their own classes; each is
+ * released when closed.  {@link #getIsolatedClassLoader(ClassLoader)}
+ * returns the run-scoped isolated {@link ClassLoader} (replaced only
+ * after it is closed).  {@link #close()} closes the shared
+ * {@link ClassLoader} and any isolated {@link ClassLoader} still open.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+@ToString(of = { "roots" })
+public class ClassLoaderPool implements Closeable {
+    private final List<Path> roots;
+    private final Function<Path,JarFile> jars;
+    private final Path cache;
+    private ClassPathIndexClassLoader loader = null;
+    private final Set<Isolated> isolated = ConcurrentHashMap.newKeySet();
+    private Isolated sandbox = null;
+
+    /**
+     * Sole constructor.
+     *
+     * @param   roots           The class path roots (directories and
+     *                          JARs).
+     * @param   jars            The {@link Function} (see
+     *                          {@link JarFilePool}) to open JARs.
+     * @param   cache           The {@link Path} to the index cache file
+     *                          (may be {@code null}).
+     */
+    public ClassLoaderPool(List<Path> roots, Function<Path,JarFile> jars, Path cache) {
+        this.roots = List.copyOf(roots);
+        this.jars = jars;
+        this.cache = cache;
+    }
+
+    /**
+     * Method to get the class path roots of a {@link JavaFileManager}.
+     * If the {@link JavaFileManager} is not a
+     * {@link StandardJavaFileManager}, the roots are the {@code file:}
+     * {@link java.net.URL}s of its {@link javax.tools.StandardLocation#CLASS_PATH}
+     * {@link ClassLoader} (see
+     * {@link JavaFileManager#getClassLoader(JavaFileManager.Location)}).
+     *
+     * @param   fm              The {@link JavaFileManager}.
+     *
+     * @return  The {@link List} of class path roots.
+     */
+    public static List<Path> getClassPathOf(JavaFileManager fm) {
+        var roots = new ArrayList<Path>();
+
+        if (fm instanceof StandardJavaFileManager) {
+            var files = ((StandardJavaFileManager) fm).getLocation(CLASS_PATH);
+
+            if (files != null) {
+                files.forEach(t -> roots.add(t.toPath()));
+            }
+        } else {
+            var loader = fm.getClassLoader(CLASS_PATH);
+
+            if (loader instanceof URLClassLoader) {
+                for (var url : ((URLClassLoader) loader).getURLs()) {
+                    try {
+                        if (url.getProtocol().equals("file")) {
+                            roots.add(Paths.get(url.toURI()));
+                        }
+                    } catch (URISyntaxException | IllegalArgumentException exception) {
+                        continue;
+                    }
+                }
+            }
+
+            if (loader instanceof Closeable) {
+                try {
+                    ((Closeable) loader).close();
+                } catch (IOException exception) {
+                }
+            }
+        }
+
+        return roots;
+    }
+
+    /**
+     * Method to get the shared class path {@link ClassLoader}.  The
+     * {@link ClassLoader} is created on the first call with the
+     * specified parent; the {@code parent} argument of subsequent calls
+     * is ignored.
+     *
+     * @param   parent          The parent {@link ClassLoader} (usually
+     *                          the {@link ClassLoader} of the first
+     *                          {@link AbstractTaglet} to require
+     *                          documented classes).
+     *
+     * @return  The shared {@link ClassLoader}.
+     */
+    public synchronized ClassLoader getClassLoader(ClassLoader parent) {
+        if (loader == null) {
+            loader = new ClassPathIndexClassLoader(roots, parent, jars, cache);
+        }
+
+        return loader;
+    }
+
+    /**
+     * Method to create an isolated class path {@link ClassLoader}.  The
+     * {@link ClassLoader} shares the index (and parent) of the shared
+     * {@link ClassLoader} (see {@link #getClassLoader(ClassLoader)}) but
+     * defines its own classes.  The caller must close the
+     * {@link ClassLoader} when it is no longer required.
+     *
+     * @param   parent          The parent {@link ClassLoader} if the
+     *                          shared {@link ClassLoader} has not yet
+     *                          been created.
+     *
+     * @return  The isolated {@link URLClassLoader}.
+     */
+    public URLClassLoader newClassLoader(ClassLoader parent) {
+        var shared = (ClassPathIndexClassLoader) getClassLoader(parent);
+        var loader = new Isolated(shared);
+
+        isolated.add(loader);
+
+        return loader;
+    }
+
+    /**
+     * Method to get the run-scoped isolated class path
+     * {@link ClassLoader} (see {@link #newClassLoader(ClassLoader)}).  The
+     * same {@link ClassLoader} is returned until it is closed (e.g.,
+     * discarded after a reflective operation times out); the next call
+     * then creates a new one.
+     *
+     * @param   parent          The parent {@link ClassLoader} if the
+     *                          shared {@link ClassLoader} has not yet
+     *                          been created.
+     *
+     * @return  The isolated {@link URLClassLoader}.
+     */
+    public synchronized URLClassLoader getIsolatedClassLoader(ClassLoader parent) {
+        if (sandbox == null) {
+            sandbox = (Isolated) newClassLoader(parent);
+        }
+
+        return sandbox;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException exception = null;
+
+        for (var loader : List.copyOf(isolated)) {
+            try {
+                loader.close();
+            } catch (IOException suppressed) {
+                if (exception == null) {
+                    exception = suppressed;
+                } else {
+                    exception.addSuppressed(suppressed);
+                }
+            }
+        }
+
+        if (loader != null) {
+            try {
+                loader.close();
+            } catch (IOException suppressed) {
+                if (exception == null) {
+                    exception = suppressed;
+                } else {
+                    exception.addSuppressed(suppressed);
+                }
+            } finally {
+                loader = null;
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private class Isolated extends ClassPathIndexClassLoader {
+        public Isolated(ClassPathIndexClassLoader loader) {
+            super(loader, loader.getParent());
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                isolated.remove(this);
+
+                synchronized (ClassLoaderPool.this) {
+                    if (sandbox == this) {
+                        sandbox = null;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import lombok.ToString;
+
+import static ball.tools.javadoc.CacheFiles.writeAtomically;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Class path {@link ClassLoader} which indexes the directories (packages)
+ * of each root (directory or JAR) in parallel at construction.
+ * {@link #findClass(String)} and {@link #findResource(String)} consult the
+ * index and probe only the root(s) that contain the package instead of
+ * searching every root in order.  The index of each JAR may optionally be
+ * persisted and is reused while the JAR's size and modification time are
+ * unchanged.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+@ToString(of = { "roots" })
+public class ClassPathIndexClassLoader extends URLClassLoader {
+    static { registerAsParallelCapable(); }
+
+    private static final String CLASS = ".class";
+    private static final String VERSIONS = "META-INF/versions/";
+    private static final Pattern VERSIONED =
+        Pattern.compile(Pattern.quote(VERSIONS) + "[0-9]+/(?<name>.*)$");
+
+    private static final String HEADER = "# ";
+    private static final String DIRECTORY = "/";
+
+    private final List<Path> roots;
+    private final Function<Path,JarFile> jars;
+    private final Map<String,int[]> index;
+    private final boolean[] archives;
+    private final CodeSource[] sources;
+    private final boolean complete;
+
+    /**
+     * Constructor.
+     *
+     * @param   roots           The class path roots (directories and
+     *                          JARs).
+     * @param   parent          The parent {@link ClassLoader}.
+     * @param   jars            The {@link Function} (see
+     *                          {@link JarFilePool}) to open JARs.
+     * @param   cache           The {@link Path} to the index cache file
+     *                          (may be {@code null}).
+     */
+    public ClassPathIndexClassLoader(List<Path> roots, ClassLoader parent, Function<Path,JarFile> jars, Path cache) {
+        super(toURLs(roots), parent);
+
+        this.roots = roots.stream().map(t -> t.toAbsolutePath().normalize()).collect(toList());
+        this.jars = jars;
+        this.index = new HashMap<>();
+        this.archives = new boolean[this.roots.size()];
+        this.sources =
+            IntStream.range(0, this.roots.size())
+            .mapToObj(t -> new CodeSource(getURLs()[t], (CodeSigner[]) null))
+            .toArray(CodeSource[]::new);
+
+        var cached = (cache != null) ? read(cache) : new HashMap<Path,Stamped>();
+        var stamped = new Stamped[this.roots.size()];
+
+        for (int i = 0; i < archives.length; i += 1) {
+            archives[i] = Files.isRegularFile(this.roots.get(i));
+        }
+
+        IntStream.range(0, this.roots.size())
+            .parallel()
+            .forEach(t -> stamped[t] = scan(this.roots.get(t), cached.get(this.roots.get(t))));
+
+        var complete = true;
+        var map = new HashMap<String,List<Integer>>();
+
+        for (int i = 0; i < stamped.length; i += 1) {
+            if (stamped[i] != null) {
+                for (var directory : stamped[i].directories) {
+                    map.computeIfAbsent(directory, k -> new ArrayList<>(1)).add(i);
+                }
+            } else {
+                complete = false;
+            }
+        }
+
+        for (var entry : map.entrySet()) {
+            index.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        this.complete = complete;
+
+        if (cache != null) {
+            var changed = false;
+
+            for (int i = 0; i < stamped.length; i += 1) {
+                if (stamped[i] != null && stamped[i].size >= 0) {
+                    changed |= (! stamped[i].equals(cached.get(this.roots.get(i))));
+                }
+            }
+
+            if (changed) {
+                write(cache, stamped);
+            }
+        }
+    }
+
+    /**
+     * Constructor to create a {@link ClassPathIndexClassLoader} that
+     * shares the class path index of another (without rescanning the
+     * class path) but defines its own classes.
+     *
+     * @param   loader          The {@link ClassPathIndexClassLoader}
+     *                          whose index is shared.
+     * @param   parent          The parent {@link ClassLoader}.
+     */
+    public ClassPathIndexClassLoader(ClassPathIndexClassLoader loader, ClassLoader parent) {
+        super(loader.getURLs(), parent);
+
+        this.roots = loader.roots;
+        this.jars = loader.jars;
+        this.index = loader.index;
+        this.archives = loader.archives;
+        this.sources = loader.sources;
+        this.complete = loader.complete;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        Class<?> type = null;
+        var path = name.replace('.', '/') + CLASS;
+        var root = find(path);
+
+        if (root >= 0) {
+            try {
+                byte[] bytes = null;
+                Manifest manifest = null;
+
+                if (isJar(root)) {
+                    var jar = jars.apply(roots.get(root));
+
+                    try (var in = jar.getInputStream(jar.getEntry(path))) {
+                        bytes = in.readAllBytes();
+                    }
+
+                    manifest = jar.getManifest();
+                } else {
+                    bytes = Files.readAllBytes(roots.get(root).resolve(path));
+                }
+
+                definePackageOf(name, manifest, sources[root].getLocation());
+
+                type = defineClass(name, bytes, 0, bytes.length, sources[root]);
+            } catch (IOException | UncheckedIOException exception) {
+                throw new ClassNotFoundException(name, exception);
+            }
+        } else if (! complete) {
+            type = super.findClass(name);
+        } else {
+            throw new ClassNotFoundException(name);
+        }
+
+        return type;
+    }
+
+    @Override
+    public URL findResource(String name) {
+        URL url = null;
+        var root = find(name);
+
+        if (root >= 0) {
+            url = toURL(root, name);
+        } else if (! complete) {
+            url = super.findResource(name);
+        }
+
+        return url;
+    }
+
+    @Override
+    public Enumeration<URL> findResources(String name) throws IOException {
+        Enumeration<URL> enumeration = null;
+
+        if (complete) {
+            var list = new ArrayList<URL>();
+
+            for (var root : candidates(name)) {
+                if (contains(root, name)) {
+                    list.add(toURL(root, name));
+                }
+            }
+
+            enumeration = Collections.enumeration(list);
+        } else {
+            enumeration = super.findResources(name);
+        }
+
+        return enumeration;
+    }
+
+    private int find(String name) {
+        var root = -1;
+
+        for (var candidate : candidates(name)) {
+            if (contains(candidate, name)) {
+                root = candidate;
+                break;
+            }
+        }
+
+        return root;
+    }
+
+    private int[] candidates(String name) {
+        var candidates = index.get(getDirectoryOf(name));
+
+        return (candidates != null) ? candidates : new int[] { };
+    }
+
+    private boolean contains(int root, String name) {
+        var contains = false;
+
+        try {
+            if (isJar(root)) {
+                contains = jars.apply(roots.get(root)).getEntry(name) != null;
+            } else {
+                contains = Files.isRegularFile(roots.get(root).resolve(name));
+            }
+        } catch (UncheckedIOException exception) {
+        }
+
+        return contains;
+    }
+
+    private boolean isJar(int root) { return archives[root]; }
+
+    private URL toURL(int root, String name) {
+        URL url = null;
+
+        try {
+            var base = getURLs()[root];
+
+            if (isJar(root)) {
+                base = new URL("jar:" + base + "!/");
+            }
+
+            url = new URL(base, name);
+        } catch (MalformedURLException exception) {
+        }
+
+        return url;
+    }
+
+    private void definePackageOf(String name, Manifest manifest, URL url) {
+        int index = name.lastIndexOf('.');
+
+        if (index > 0) {
+            var pkg = name.substring(0, index);
+
+            if (getDefinedPackage(pkg) == null) {
+                try {
+                    if (manifest != null) {
+                        definePackage(pkg, manifest, url);
+                    } else {
+                        definePackage(pkg, null, null, null, null, null, null, null);
+                    }
+                } catch (IllegalArgumentException exception) {
+                    /*
+                     * Package defined concurrently.
+                     */
+                }
+            }
+        }
+    }
+
+    private Stamped scan(Path root, Stamped cached) {
+        Stamped stamped = null;
+
+        try {
+            if (Files.isDirectory(root)) {
+                try (var stream = Files.walk(root)) {
+                    var directories =
+                        stream.filter(Files::isRegularFile)
+                        .map(t -> root.relativize(t.getParent()))
+                        .map(t -> String.join("/", toStrings(t)))
+                        .collect(toSet());
+
+                    stamped = new Stamped(-1, -1, directories);
+                }
+            } else if (Files.isRegularFile(root)) {
+                var size = Files.size(root);
+                var lastModified = Files.getLastModifiedTime(root).toMillis();
+
+                if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+                    stamped = cached;
+                } else {
+                    var directories = new TreeSet<String>();
+                    var jar = jars.apply(root);
+
+                    jar.stream()
+                        .filter(t -> (! t.isDirectory()))
+                        .map(t -> t.getName())
+                        .forEach(t -> {
+                                directories.add(getDirectoryOf(t));
+
+                                var matcher = VERSIONED.matcher(t);
+
+                                if (jar.isMultiRelease() && matcher.matches()) {
+                                    directories.add(getDirectoryOf(matcher.group("name")));
+                                }
+                            });
+
+                    stamped = new Stamped(size, lastModified, directories);
+                }
+            } else {
+                stamped = new Stamped(-1, -1, Set.of());
+            }
+        } catch (IOException | UncheckedIOException exception) {
+            stamped = null;
+        }
+
+        return stamped;
+    }
+
+    private Map<Path,Stamped> read(Path cache) {
+        var map = new LinkedHashMap<Path,Stamped>();
+
+        try {
+            if (Files.isRegularFile(cache)) {
+                Path root = null;
+                Stamped stamped = null;
+
+                for (var line : Files.readAllLines(cache, UTF_8)) {
+                    if (line.startsWith(HEADER)) {
+                        var argv = line.substring(HEADER.length()).split(" ", 3);
+
+                        root = Path.of(argv[2]);
+                        stamped = new Stamped(Long.parseLong(argv[0]), Long.parseLong(argv[1]), new TreeSet<>());
+
+                        map.put(root, stamped);
+                    } else if (line.startsWith(DIRECTORY) && stamped != null) {
+                        stamped.directories.add(line.substring(DIRECTORY.length()));
+                    }
+                }
+            }
+        } catch (Exception exception) {
+            map.clear();
+        }
+
+        return map;
+    }
+
+    private void write(Path cache, Stamped[] stamped) {
+        var lines = new ArrayList<String>();
+
+        for (int i = 0; i < stamped.length; i += 1) {
+            if (stamped[i] != null && stamped[i].size >= 0) {
+                lines.add(HEADER + stamped[i].size + " " + stamped[i].lastModified + " " + roots.get(i));
+                stamped[i].directories.stream().map(t -> DIRECTORY + t).forEach(lines::add);
+            }
+        }
+
+        writeAtomically(cache, t -> Files.write(t, lines, UTF_8));
+    }
+
+    private static String getDirectoryOf(String name) {
+        int index = name.lastIndexOf('/');
+
+        return (index > 0) ? name.substring(0, index) : "";
+    }
+
+    private static List<String> toStrings(Path path) {
+        var list = new ArrayList<String>();
+
+        for (var name : path) {
+            if (! name.toString().isEmpty()) {
+                list.add(name.toString());
+            }
+        }
+
+        return list;
+    }
+
+    private static URL[] toURLs(List<Path> roots) {
+        return roots.stream()
+            .map(t -> {
+                    try {
+                        return t.toAbsolutePath().normalize().toUri().toURL();
+                    } catch (MalformedURLException exception) {
+                        throw new IllegalArgumentException(String.valueOf(t), exception);
+                    }
+                })
+            .toArray(URL[]::new);
+    }
+
+    private static class Stamped {
+        public final long size;
+        public final long lastModified;
+        public final Set<String> directories;
+
+        public Stamped(long size, long lastModified, Set<String> directories) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.directories = directories;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            var equals = (object == this);
+
+            if (! equals && object instanceof Stamped) {
+                var that = (Stamped) object;
+
+                equals =
+                    this.size == that.size
+                    && this.lastModified == that.lastModified
+                    && this.directories.equals(that.directories);
+            }
+
+            return equals;
+        }
+
+        @Override
+        public int hashCode() { return directories.hashCode(); }
+    }
+}
@@ -19,75 +19,202 @@ package ball.tools.javadoc;
  * ##########################################################################
  */
 import ball.annotation.ServiceProviderFor;
-import ball.swing.table.ListTableModel;
-import ball.swing.table.MapTableModel;
 import ball.xml.FluentNode;
 import com.sun.source.doctree.UnknownInlineTagTree;
+import com.sun.source.tree.VariableTree;
 import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.InputStreamReader;
 import java.lang.reflect.Field;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.swing.table.AbstractTableModel;
 import jdk.javadoc.doclet.Taglet;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toList;
-import static javax.lang.model.util.ElementFilter.fieldsIn;
+import static javax.tools.Diagnostic.Kind.WARNING;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.apache.commons.lang3.StringUtils.SPACE;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 /**
  * Inline {@link Taglet} to include a static {@link Class}
  * {@link java.lang.reflect.Field} or resource in the Javadoc output.
  *
+ * <p>Compile-time constants are rendered from the element model without
+ * loading the enclosing {@link Class}.  The {@link Class} is initialized
+ * to read the value of any other field.  Specifying the
+ * {@value StandardDoclet#ELEMENT_MODEL} option disables class
+ * initialization altogether: non-constant fields are then rendered as
+ * their initializer expression (or their name, with a warning, if the
+ * initializer source is not available).</p>
+ *
+ * <p>A resource is read line-by-line and may be restricted with
+ * {@code lines=}<i>first</i>{@code -}<i>last</i> (1-based, inclusive;
+ * either bound may be omitted) and/or {@code region=}<i>name</i> (the
+ * lines between {@code @start region=}<i>name</i> and
+ * {@code @end region=}<i>name</i> markers, exclusive), e.g.,
+ * <code>{&#64;include Example.java region=main}</code>.  The
+ * {@value StandardDoclet#INCLUDE_LIMIT} option caps the number of lines
+ * included (there is no cap by default).  Each selection is read once
+ * per run.</p>
+ *
+ * <p>Arguments are <i>name</i>{@code =}<i>value</i> pairs and may be
+ * specified without a target (e.g., <code>{&#64;include limit=10}</code>
+ * in the comment of the field to include).  Unrecognized arguments are
+ * ignored with a warning.</p>
+ *
+ * <p>{@link Collection} and {@link Map} field values are rendered as
+ * tables read directly from the value.  The number of rows may be limited
+ * by the {@value StandardDoclet#INCLUDE_ROWS} option (no limit by
+ * default) or the tag's {@code limit=}<i>rows</i> argument (with a
+ * "Showing <i>N</i> of <i>M</i>" summary) and {@code chunk=}<i>rows</i>
+ * splits the table into collapsible {@code <details/>} sections.  These
+ * arguments are rejected for any other field.</p>
+ *
  * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
  */
 @TagletName("include")
 @ServiceProviderFor({ Taglet.class })
 @NoArgsConstructor @ToString
 public class IncludeTaglet extends AbstractInlineTaglet {
+    private static final String LINES = "lines";
+    private static final String REGION = "region";
+    private static final String LIMIT = "limit";
+    private static final String CHUNK = "chunk";
+
+    private static final String START = "@start";
+    private static final String END = "@end";
+    private static final String MARKER = "%s\\s+region=\"?%s\"?(\\s|$)";
+    private static final Pattern ARGUMENT = Pattern.compile("[\\p{Alpha}]+=.*");
+
+    private final Map<String,String> cache = new ConcurrentHashMap<>();
+
     @Override
     public FluentNode toNode(UnknownInlineTagTree tag, Element context) throws Throwable {
         FluentNode node = null;
-        var argv = getText(tag).trim().split("[\\p{Space}]+", 2);
+        String name = null;
+        var arguments = new ArrayList<String>();
 
-        if (isNotEmpty(argv[0])) {
-            var target = argv[0].trim().split(Pattern.quote("#"), 2);
+        for (var token : getText(tag).trim().split("[\\p{Space}]+")) {
+            if (isNotEmpty(token)) {
+                if (name == null && arguments.isEmpty() && (! ARGUMENT.matcher(token).matches())) {
+                    name = token;
+                } else {
+                    arguments.add(token);
+                }
+            }
+        }
+
+        if (name != null) {
+            var target = name.split(Pattern.quote("#"), 2);
 
             if (target.length > 1) {
                 var type =
                     isNotEmpty(target[0])
                         ? getTypeElementFor(context, target[0])
                         : getEnclosingTypeElement(context);
-                var field =
-                    fieldsIn(type.getEnclosedElements()).stream()
-                    .filter(t -> t.getSimpleName().contentEquals(target[1]))
-                    .findFirst().get();
+                var field = getFieldOf(type, target[1]);
+
+                if (field == null) {
+                    throw new IllegalArgumentException(type.getQualifiedName() + " has no field named '" + target[1] + "'");
+                }
 
-                node = field(tag, context, field);
+                node = field(tag, context, field, arguments);
             } else {
                 var type =
                     (context instanceof PackageElement)
                         ? asPackageInfoClass((PackageElement) context)
                         : asClass(getEnclosingTypeElement(context));
 
-                node = resource(tag, context, type, target[0]);
+                node = resource(tag, context, type, target[0], arguments);
             }
         } else {
-            node = field(tag, context, (VariableElement) context);
+            node = field(tag, context, (VariableElement) context, arguments);
         }
 
         return node;
     }
 
-    private FluentNode field(UnknownInlineTagTree tag, Element context, VariableElement element) throws Exception {
+    /*
+     * Parse the name=value arguments.  Any other argument is ignored
+     * (with a warning).
+     */
+    private Map<String,String> parse(UnknownInlineTagTree tag, Element context, List<String> arguments, String... names) {
+        var map = new TreeMap<String,String>();
+
+        for (var argument : arguments) {
+            var nvp = argument.split("=", 2);
+
+            if (nvp.length > 1 && Arrays.asList(names).contains(nvp[0])) {
+                map.put(nvp[0], nvp[1]);
+            } else {
+                print(WARNING, tag, context, "Ignoring argument '%s'", argument);
+            }
+        }
+
+        return map;
+    }
+
+    private FluentNode field(UnknownInlineTagTree tag, Element context, VariableElement element, List<String> arguments) throws Exception {
+        FluentNode node = null;
+        var constant = element.getConstantValue();
+
+        if (constant != null) {
+            rejectTableArguments(parse(tag, context, arguments, LIMIT, CHUNK));
+
+            node = pre(String.valueOf(constant));
+        } else if (! Boolean.parseBoolean(getOption(StandardDoclet.ELEMENT_MODEL))) {
+            node = value(tag, context, element, arguments);
+        } else {
+            rejectTableArguments(parse(tag, context, arguments, LIMIT, CHUNK));
+
+            var initializer = getInitializerOf(element);
+
+            if (initializer != null) {
+                node = pre(initializer);
+            } else {
+                print(WARNING, tag, context,
+                      "%s is not a compile-time constant, has no initializer, and %s is specified",
+                      element.getSimpleName(), StandardDoclet.ELEMENT_MODEL);
+
+                node = code(element.getSimpleName().toString());
+            }
+        }
+
+        return div(attr("class", "block"), node);
+    }
+
+    private FluentNode value(UnknownInlineTagTree tag, Element context, VariableElement element, List<String> arguments) throws Exception {
+        var parameters = parse(tag, context, arguments, LIMIT, CHUNK);
+        var limit = parameters.getOrDefault(LIMIT, getOption(StandardDoclet.INCLUDE_ROWS));
+        var rows = isNotEmpty(limit) ? Integer.parseInt(limit) : Integer.MAX_VALUE;
+        var chunk = parameters.containsKey(CHUNK) ? Integer.parseInt(parameters.get(CHUNK)) : 0;
+
+        return reflect(() -> value(tag, context, element, parameters, rows, chunk));
+    }
+
+    /*
+     * Read and render the field value (called within reflect()).
+     */
+    private FluentNode value(UnknownInlineTagTree tag, Element context, VariableElement element,
+                             Map<String,String> parameters, int rows, int chunk) throws Exception {
         FluentNode node = null;
         var type = asClass((TypeElement) element.getEnclosingElement());
         var field = type.getDeclaredField(element.getSimpleName().toString());
@@ -97,30 +224,227 @@ public class IncludeTaglet extends AbstractInlineTaglet {
         var value = field.get(null);
 
         if (value instanceof Collection<?>) {
+            var collection = (Collection<?>) value;
+
             node =
-                table(tag, context, new ListTableModel(((Collection<?>) value).stream().collect(toList()), "Element"));
+                table(tag, context, collection, collection.size(), rows, chunk,
+                      t -> new Object[] { t }, "Element");
         } else if (value instanceof Map<?,?>) {
-            node = table(tag, context, new MapTableModel((Map<?,?>) value, "Key", "Value"));
+            var map = (Map<?,?>) value;
+
+            node =
+                table(tag, context, map.entrySet(), map.size(), rows, chunk,
+                      t -> new Object[] { ((Map.Entry<?,?>) t).getKey(), ((Map.Entry<?,?>) t).getValue() },
+                      "Key", "Value");
         } else {
+            rejectTableArguments(parameters);
+
             node = pre(String.valueOf(value));
         }
 
-        return div(attr("class", "block"), node);
+        return node;
+    }
+
+    private void rejectTableArguments(Map<String,String> parameters) {
+        if (! parameters.isEmpty()) {
+            throw new IllegalArgumentException(parameters.keySet().stream().collect(joining("=, ", EMPTY, "="))
+                                               + " applies only to Collection and Map fields");
+        }
+    }
+
+    private FluentNode table(UnknownInlineTagTree tag, Element context,
+                             Iterable<?> iterable, int size, int rows, int chunk,
+                             Function<Object,Object[]> function, String... names) {
+        FluentNode node = null;
+        var count = Math.min(size, Math.max(rows, 0));
+        var cursor = new Cursor(iterable, function);
+
+        if (chunk > 0 && count > chunk) {
+            node = fragment();
+
+            for (int offset = 0; offset < count; offset += chunk) {
+                var length = Math.min(chunk, count - offset);
+
+                node.add(element("details",
+                                 element("summary",
+                                         text(String.format("%d - %d", offset + 1, offset + length))),
+                                 table(tag, context, new IterableTableModel(cursor, offset, length, names))));
+            }
+        } else {
+            node = table(tag, context, new IterableTableModel(cursor, 0, count, names));
+        }
+
+        if (count < size) {
+            node = fragment(node, p(String.format("Showing %d of %d", count, size)));
+        }
+
+        return node;
     }
 
-    private FluentNode resource(UnknownInlineTagTree tag, Element context, Class<?> type, String name) throws Exception {
+    private String getInitializerOf(VariableElement element) {
         String string = null;
+        var tree = trees.getTree(element);
+
+        if (tree instanceof VariableTree) {
+            var initializer = ((VariableTree) tree).getInitializer();
+
+            if (initializer != null) {
+                string = initializer.toString();
+            }
+        }
+
+        return string;
+    }
 
+    private FluentNode resource(UnknownInlineTagTree tag, Element context, Class<?> type, String name, List<String> arguments) throws Exception {
         if (type == null) {
             type = getClass();
         }
 
-        try (var in = type.getResourceAsStream(name)) {
-            string =
-                new BufferedReader(new InputStreamReader(in, UTF_8)).lines()
-                .collect(joining("\n"));
+        var url = type.getResource(name);
+
+        if (url == null) {
+            throw new FileNotFoundException(name);
+        }
+
+        var selection = parse(tag, context, arguments, LINES, REGION);
+        var key = url.toExternalForm() + SPACE + selection;
+        var string = cache.get(key);
+
+        if (string == null) {
+            string = read(url, selection);
+            cache.put(key, string);
         }
 
         return pre(string);
     }
+
+    private String read(URL url, Map<String,String> selection) throws Exception {
+        var first = 1;
+        var last = Integer.MAX_VALUE;
+        String region = null;
+
+        if (selection.containsKey(LINES)) {
+            var range = selection.get(LINES).split("-", 2);
+
+            first = isNotEmpty(range[0]) ? Integer.parseInt(range[0]) : first;
+            last = (range.length > 1) ? (isNotEmpty(range[1]) ? Integer.parseInt(range[1]) : last) : first;
+        }
+
+        if (selection.containsKey(REGION)) {
+            region = selection.get(REGION).replaceAll("^\"|\"$", EMPTY);
+        }
+
+        var limit = getOption(StandardDoclet.INCLUDE_LIMIT);
+        var remaining = isNotEmpty(limit) ? Integer.parseInt(limit) : Integer.MAX_VALUE;
+        var buffer = new StringBuilder();
+
+        try (var reader = new BufferedReader(new InputStreamReader(getInputStream(url), UTF_8))) {
+            var start = (region != null) ? Pattern.compile(String.format(MARKER, START, Pattern.quote(region))) : null;
+            var end = (region != null) ? Pattern.compile(String.format(MARKER, END, Pattern.quote(region))) : null;
+            var inRegion = (region == null);
+            var number = 0;
+            String line = null;
+
+            while ((line = reader.readLine()) != null && number < last) {
+                number += 1;
+
+                if (! inRegion) {
+                    inRegion = start.matcher(line).find();
+                    continue;
+                } else if (end != null && end.matcher(line).find()) {
+                    break;
+                }
+
+                if (number >= first) {
+                    if (remaining > 0) {
+                        if (buffer.length() > 0) {
+                            buffer.append("\n");
+                        }
+
+                        buffer.append(line);
+                        remaining -= 1;
+                    } else {
+                        buffer.append("\n...");
+                        break;
+                    }
+                }
+            }
+
+            if (! inRegion) {
+                throw new IllegalArgumentException("Region '" + region + "' not found in " + url);
+            }
+        }
+
+        return buffer.toString();
+    }
+
+    /*
+     * TableModel that reads rows directly from an Iterable (without
+     * copying).  The models of the chunks of a table share a Cursor so
+     * rows accessed in order (the common case) are each read once; any
+     * other access order is supported by restarting the iteration.
+     */
+    @ToString
+    private static class IterableTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = -6403950227286411870L;
+
+        private final Cursor cursor;
+        private final int offset;
+        private final int rows;
+        private final String[] names;
+
+        public IterableTableModel(Cursor cursor, int offset, int rows, String... names) {
+            this.cursor = cursor;
+            this.offset = offset;
+            this.rows = rows;
+            this.names = names;
+        }
+
+        @Override
+        public int getRowCount() { return rows; }
+
+        @Override
+        public int getColumnCount() { return names.length; }
+
+        @Override
+        public String getColumnName(int x) { return names[x]; }
+
+        @Override
+        public Object getValueAt(int y, int x) {
+            if (! (0 <= y && y < rows)) {
+                throw new IndexOutOfBoundsException("Row " + y + " is out of range");
+            }
+
+            return cursor.get(offset + y)[x];
+        }
+    }
+
+    @ToString
+    private static class Cursor {
+        private final Iterable<?> iterable;
+        private final Function<Object,Object[]> function;
+        private Iterator<?> iterator = null;
+        private int index = -1;
+        private Object[] row = null;
+
+        public Cursor(Iterable<?> iterable, Function<Object,Object[]> function) {
+            this.iterable = iterable;
+            this.function = function;
+        }
+
+        public Object[] get(int y) {
+            if (iterator == null || y < index) {
+                iterator = iterable.iterator();
+                index = -1;
+            }
+
+            while (index < y) {
+                row = function.apply(iterator.next());
+                index += 1;
+            }
+
+            return row;
+        }
+    }
 }
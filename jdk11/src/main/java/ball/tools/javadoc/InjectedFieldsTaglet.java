@@ -24,27 +24,65 @@ import com.sun.source.doctree.UnknownInlineTagTree;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
+import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import jdk.javadoc.doclet.Taglet;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import static java.util.stream.Collectors.toList;
+import static javax.lang.model.util.ElementFilter.fieldsIn;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 /**
  * Inline {@link jdk.javadoc.doclet.Taglet} to provide a report of members
  * whose values are injected.
  *
+ * <p>If the {@value StandardDoclet#ELEMENT_MODEL} option is specified,
+ * the fields and their annotations are read from the
+ * {@link javax.lang.model} element model without loading the documented
+ * class or the annotation classes (and annotations with {@code CLASS}
+ * retention are reported).  In this mode, only {@link AnnotationProvider}s
+ * visible to the {@link Taglet}'s {@link ClassLoader} are consulted.</p>
+ *
+ * <p>The tag text may name the documented type and may include the
+ * {@code inherited} argument to also report the injected fields
+ * declared by superclasses (with their declaring class).  The injected
+ * fields of each class are indexed once and the index is shared by
+ * every tag that references the class (directly or as a
+ * superclass).</p>
+ *
+ * <p>Additional injection annotations may be registered by providing an
+ * {@link AnnotationProvider} service on the class path (providers that
+ * cannot be loaded are ignored).  The resolved annotation set, even if
+ * empty, is computed once for each {@link ClassLoader}.</p>
+ *
  * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
  */
 @TagletName("injected.fields")
 @ServiceProviderFor({ Taglet.class })
 @NoArgsConstructor @ToString
 public class InjectedFieldsTaglet extends AbstractInlineTaglet {
+    private static final String INHERITED = "inherited";
+
     private static final String[] NAMES = new String[] {
         "jakarta.annotation.Resource",
         "jakarta.annotation.Resources",
@@ -57,10 +95,42 @@ public class InjectedFieldsTaglet extends AbstractInlineTaglet {
         "org.springframework.boot.web.server.LocalServerPort"
     };
 
+    private Set<String> names = null;
+    /*
+     * The names of the resolved annotation types of each ClassLoader.
+     * Only names are held so the entries do not keep the ClassLoader
+     * reachable.
+     */
+    private final Map<ClassLoader,Set<String>> types =
+        Collections.synchronizedMap(new WeakHashMap<>());
+    private final ClassValue<Map<Field,List<Annotation>>> fields =
+        new ClassValue<>() {
+            @Override
+            protected Map<Field,List<Annotation>> computeValue(Class<?> type) {
+                var loader = type.getClassLoader();
+
+                return (loader != null) ? getInjectedFieldsOf(type, getAnnotationTypes(loader)) : Map.of();
+            }
+        };
+    private final Map<TypeElement,Map<VariableElement,List<AnnotationMirror>>> variables =
+        new ConcurrentHashMap<>();
+
     @Override
     public FluentNode toNode(UnknownInlineTagTree tag, Element context) throws Throwable {
         TypeElement type = null;
         var argv = getText(tag).trim().split("[\\p{Space}]+", 2);
+        var inherited = false;
+
+        if (argv[0].equals(INHERITED)) {
+            inherited = true;
+            argv[0] = EMPTY;
+        } else if (argv.length > 1) {
+            inherited = argv[1].trim().equals(INHERITED);
+
+            if (! inherited) {
+                throw new IllegalArgumentException("Invalid argument: " + argv[1]);
+            }
+        }
 
         if (isNotEmpty(argv[0])) {
             type = getTypeElementFor(context, argv[0]);
@@ -68,13 +138,72 @@ public class InjectedFieldsTaglet extends AbstractInlineTaglet {
             type = getEnclosingTypeElement(context);
         }
 
-        Set<Class<? extends Annotation>> set = new HashSet<>();
+        FluentNode table = null;
+
+        if (Boolean.parseBoolean(getOption(StandardDoclet.ELEMENT_MODEL))) {
+            table = table(tag, context, type, inherited);
+        } else {
+            var element = type;
+            var reflection = inherited;
+            table =
+                reflect(() -> {
+                        var fields = new LinkedHashMap<Field,List<Annotation>>();
+                        var start = asClass(element);
+                        var loader = start.getClassLoader();
+
+                        if (loader != null && getAnnotationTypes(loader).isEmpty()) {
+                            throw new IllegalStateException("No annotations to map");
+                        }
+
+                        for (var t = start; t != null; t = reflection ? t.getSuperclass() : null) {
+                            fields.putAll(getInjectedFieldsOf(t));
+                        }
+
+                        return table(tag, context, fields, reflection);
+                    });
+        }
+
+        return div(attr("class", "summary"),
+                   h3("Injected Field Summary"),
+                   table);
+    }
+
+    private Set<String> getAnnotationNames(ClassLoader loader) {
+        var set = new TreeSet<String>(Set.of(NAMES));
+
+        var iterator = ServiceLoader.load(AnnotationProvider.class, loader).iterator();
+
+        for (;;) {
+            try {
+                if (iterator.hasNext()) {
+                    set.addAll(iterator.next().getAnnotationNames());
+                } else {
+                    break;
+                }
+            } catch (ServiceConfigurationError error) {
+                continue;
+            }
+        }
+
+        return Collections.unmodifiableSet(set);
+    }
+
+    private Set<String> getAnnotationTypes(ClassLoader loader) {
+        return types.computeIfAbsent(loader, this::loadAnnotationTypes);
+    }
+
+    /*
+     * The names of the annotation types (RUNTIME retention) loadable by
+     * the ClassLoader; the Set is empty if there are none.
+     */
+    private Set<String> loadAnnotationTypes(ClassLoader loader) {
+        var set = new HashSet<String>();
 
-        for (String name : NAMES) {
+        for (String name : getAnnotationNames(loader)) {
             Class<? extends Annotation> annotation = null;
 
             try {
-                annotation = Class.forName(name, false, getClassLoader()).asSubclass(Annotation.class);
+                annotation = Class.forName(name, false, loader).asSubclass(Annotation.class);
             } catch (Exception exception) {
             }
 
@@ -98,32 +227,108 @@ public class InjectedFieldsTaglet extends AbstractInlineTaglet {
                     /* break; */
                 }
 
-                set.add(annotation);
+                set.add(annotation.getName());
             }
         }
 
-        if (set.isEmpty()) {
-            throw new IllegalStateException("No annotations to map");
+        return Collections.unmodifiableSet(set);
+    }
+
+    private FluentNode table(UnknownInlineTagTree tag, Element context, TypeElement type, boolean inherited) {
+        var stream = Stream.<TypeElement>iterate(type, Objects::nonNull, t -> inherited ? getSuperclassOf(t) : null);
+
+        return table(thead(tr(th("Annotation(s)"), th("Field"), inherited ? th("Declared In") : fragment())),
+                     tbody(stream.flatMap(t -> getInjectedFieldsOf(t).entrySet().stream())
+                           .map(t -> tr(td(fragment(t.getValue().stream()
+                                                    .map(a -> annotation(tag, context, a)))),
+                                        td(declaration(tag, context, t.getKey())),
+                                        inherited ? td(a(tag, context, (TypeElement) t.getKey().getEnclosingElement(), null)) : fragment()))));
+    }
+
+    private TypeElement getSuperclassOf(TypeElement type) {
+        var superclass = type.getSuperclass();
+
+        return (superclass instanceof DeclaredType) ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private Map<VariableElement,List<AnnotationMirror>> getInjectedFieldsOf(TypeElement type) {
+        /*
+         * The documented classes are not loaded in this mode so only
+         * AnnotationProviders visible to this Taglet are consulted.
+         */
+        if (this.names == null) {
+            this.names = getAnnotationNames(getClass().getClassLoader());
         }
 
-        return div(attr("class", "summary"),
-                   h3("Injected Field Summary"),
-                   table(tag, context, asClass(type), set));
+        var names = this.names;
+
+        return variables.computeIfAbsent(type, k -> getInjectedFieldsOf(k, names));
+    }
+
+    private Map<VariableElement,List<AnnotationMirror>> getInjectedFieldsOf(TypeElement type, Set<String> names) {
+        var map = new LinkedHashMap<VariableElement,List<AnnotationMirror>>();
+
+        for (var field : fieldsIn(type.getEnclosedElements())) {
+            var list =
+                field.getAnnotationMirrors().stream()
+                .filter(t -> names.contains(getNameOf(t)))
+                .collect(toList());
+
+            if (! list.isEmpty()) {
+                map.put(field, List.copyOf(list));
+            }
+        }
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    private String getNameOf(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private FluentNode table(UnknownInlineTagTree tag, Element context, Map<Field,List<Annotation>> map, boolean inherited) {
+        return table(thead(tr(th("Annotation(s)"), th("Field"), inherited ? th("Declared In") : fragment())),
+                     tbody(map.entrySet().stream()
+                           .map(t -> tr(td(fragment(t.getValue().stream()
+                                                    .map(a -> annotation(tag, context, a)))),
+                                        td(declaration(tag, context, t.getKey())),
+                                        inherited ? td(a(tag, context, t.getKey().getDeclaringClass())) : fragment()))));
     }
 
-    private FluentNode table(UnknownInlineTagTree tag, Element context, Class<?> type, Set<Class<? extends Annotation>> set) {
-        return table(thead(tr(th("Annotation(s)"), th("Field"))),
-                     tbody(Stream.of(type.getDeclaredFields())
-                           .filter(t -> (Stream.of(t.getAnnotations())
-                                         .filter(a -> set.contains(a.annotationType()))
-                                         .findFirst().isPresent()))
-                           .map(t -> tr(tag, context, t, set))));
+    private Map<Field,List<Annotation>> getInjectedFieldsOf(Class<?> type) {
+        return fields.get(type);
     }
 
-    private FluentNode tr(UnknownInlineTagTree tag, Element context, Field field, Set<Class<? extends Annotation>> set) {
-        return tr(td(fragment(Stream.of(field.getAnnotations())
-                              .filter(t -> set.contains(t.annotationType()))
-                              .map(t -> annotation(tag, context, t)))),
-                  td(declaration(tag, context, field)));
+    private Map<Field,List<Annotation>> getInjectedFieldsOf(Class<?> type, Set<String> set) {
+        var map = new LinkedHashMap<Field,List<Annotation>>();
+
+        for (var field : type.getDeclaredFields()) {
+            var list =
+                Stream.of(field.getAnnotations())
+                .filter(t -> set.contains(t.annotationType().getName()))
+                .collect(toList());
+
+            if (! list.isEmpty()) {
+                map.put(field, List.copyOf(list));
+            }
+        }
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * {@link ServiceLoader} service interface to register additional
+     * injection annotations (e.g., Quarkus or Micronaut annotations)
+     * with {@link InjectedFieldsTaglet}.
+     */
+    public interface AnnotationProvider {
+
+        /**
+         * Method to get the fully qualified names of the additional
+         * injection annotations.
+         *
+         * @return  The {@link Collection} of annotation names.
+         */
+        public Collection<String> getAnnotationNames();
     }
 }
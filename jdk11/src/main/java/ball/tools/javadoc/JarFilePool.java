@@ -0,0 +1,145 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.jar.JarFile;
+import java.util.zip.ZipFile;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Pool of open {@link JarFile} handles shared for the duration of a
+ * Javadoc run.  {@link #open(Path)} opens (and caches) the
+ * {@link JarFile} on first reference; {@link #close()} closes every
+ * handle.  The pool is a {@link Function} so it may be shared with
+ * {@link AbstractTaglet}s loaded by other {@link ClassLoader}s.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+@NoArgsConstructor @ToString
+public class JarFilePool implements Function<Path,JarFile>, Closeable {
+    private final Map<Path,JarFile> map = new ConcurrentHashMap<>();
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+
+    /**
+     * Method to get the number of {@link JarFile}s opened.
+     *
+     * @return  The number of {@link JarFile}s opened.
+     */
+    public int getOpenedCount() { return opened.get(); }
+
+    /**
+     * Method to get the number of look-ups that reused an open
+     * {@link JarFile}.
+     *
+     * @return  The number of look-ups that reused an open
+     *          {@link JarFile}.
+     */
+    public int getReusedCount() { return reused.get(); }
+
+    /**
+     * Method to get the shared {@link JarFile} for a {@link Path},
+     * opening it on first reference.  No lock is held while the
+     * {@link JarFile} is opened; if two threads open the same archive
+     * concurrently, one {@link JarFile} is kept and the other is closed.
+     * The {@link JarFile} must not be closed by the caller.
+     *
+     * @param   path            The {@link Path} to the archive.
+     *
+     * @return  The {@link JarFile}.
+     *
+     * @throws  IOException     If the {@link JarFile} cannot be opened.
+     */
+    public JarFile open(Path path) throws IOException {
+        var key = path.toAbsolutePath().normalize();
+        var value = map.get(key);
+
+        if (value == null) {
+            var jar = new JarFile(key.toFile(), true, ZipFile.OPEN_READ, JarFile.runtimeVersion());
+
+            value = map.putIfAbsent(key, jar);
+
+            if (value == null) {
+                value = jar;
+                opened.incrementAndGet();
+            } else {
+                jar.close();
+                reused.incrementAndGet();
+            }
+        } else {
+            reused.incrementAndGet();
+        }
+
+        return value;
+    }
+
+    /**
+     * See {@link #open(Path)}.
+     *
+     * @param   path            The {@link Path} to the archive.
+     *
+     * @return  The {@link JarFile}.
+     *
+     * @throws  UncheckedIOException
+     *                          If the {@link JarFile} cannot be opened.
+     */
+    @Override
+    public JarFile apply(Path path) {
+        try {
+            return open(path);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+
+        for (var key : List.copyOf(map.keySet())) {
+            var value = map.remove(key);
+
+            try {
+                if (value != null) {
+                    value.close();
+                }
+            } catch (IOException suppressed) {
+                if (exception == null) {
+                    exception = suppressed;
+                } else {
+                    exception.addSuppressed(suppressed);
+                }
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
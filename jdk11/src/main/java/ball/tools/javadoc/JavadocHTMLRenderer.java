@@ -0,0 +1,59 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import ball.xml.FluentNode;
+import com.sun.source.doctree.DocTree;
+import javax.lang.model.element.Element;
+
+/**
+ * {@link java.util.ServiceLoader} service interface to render values of
+ * a specific type in
+ * {@link JavadocHTMLTemplates#toHTML(DocTree,Element,Object)}.  The
+ * renderer registered for the most specific superclass (or interface) of
+ * a value's runtime {@link Class} is selected; service providers take
+ * precedence over the built-in renderers for the same type.
+ * {@link AbstractTaglet} loads providers through its class path
+ * {@link ClassLoader} (see {@link AbstractTaglet#getClassLoader()}).
+ *
+ * @param   <T>             The rendered type.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+public interface JavadocHTMLRenderer<T> {
+
+    /**
+     * Method to get the type rendered by this renderer.
+     *
+     * @return  The rendered {@link Class}.
+     */
+    public Class<T> getType();
+
+    /**
+     * Method to get a Javadoc HTML representation of an {@link Object}.
+     *
+     * @param   templates       The {@link JavadocHTMLTemplates}.
+     * @param   tag             The context {@link DocTree}.
+     * @param   context         The context {@link Element}.
+     * @param   object          The target {@link Object}.
+     *
+     * @return  {@link org.w3c.dom.Node}
+     */
+    public FluentNode toHTML(JavadocHTMLTemplates templates, DocTree tag, Element context, T object);
+}
@@ -0,0 +1,319 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import ball.xml.FluentNode;
+import com.sun.source.doctree.DocTree;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+import javax.lang.model.element.Element;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * {@link JavadocHTMLRenderer} registry.  The built-in renderers are
+ * combined with the service providers visible to a {@link ClassLoader}
+ * and the renderer for each runtime {@link Class} is resolved once (see
+ * {@link ClassValue}).
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+class JavadocHTMLRenderers {
+    private static final String ELLIPSIS = "...";
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final ThreadLocal<Set<Object>> STACK =
+        ThreadLocal.withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    private static final JavadocHTMLRenderer<Object> DEFAULT =
+        new Renderer<>(Object.class, (templates, tag, context, object) -> templates.text(String.valueOf(object)));
+    private static final Map<Class<?>,JavadocHTMLRenderer<?>> BUILTINS = new HashMap<>();
+
+    static {
+        register(boolean[].class,
+                 (templates, tag, context, object) ->
+                     array(templates, object.length, i -> String.valueOf(object[i])));
+        register(byte[].class,
+                 (templates, tag, context, object) ->
+                     array(templates, object.length,
+                           i -> new String(new char[] { '0', 'x', HEX[(object[i] >> 4) & 0xF], HEX[object[i] & 0xF] })));
+        register(char[].class,
+                 (templates, tag, context, object) ->
+                     array(templates, object.length, i -> String.valueOf(object[i])));
+        register(double[].class,
+                 (templates, tag, context, object) ->
+                     array(templates, object.length, i -> String.valueOf(object[i])));
+        register(float[].class,
+                 (templates, tag, context, object) ->
+                     array(templates, object.length, i -> String.valueOf(object[i])));
+        register(int[].class,
+                 (templates, tag, context, object) ->
+                     array(templates, object.length, i -> String.valueOf(object[i])));
+        register(long[].class,
+                 (templates, tag, context, object) ->
+                     array(templates, object.length, i -> String.valueOf(object[i])));
+        register(short[].class,
+                 (templates, tag, context, object) ->
+                     array(templates, object.length, i -> String.valueOf(object[i])));
+        register(Object[].class,
+                 (templates, tag, context, object) ->
+                     collection(templates, tag, context, object, Arrays.asList(object)));
+        register(Type.class,
+                 (templates, tag, context, object) -> templates.type(tag, context, object));
+        register(TypeMirror.class,
+                 (templates, tag, context, object) -> templates.type(tag, context, object));
+        register(Enum.class,
+                 (templates, tag, context, object) -> templates.a(tag, context, object));
+        register(Field.class,
+                 (templates, tag, context, object) -> templates.a(tag, context, object));
+        register(Constructor.class,
+                 (templates, tag, context, object) -> templates.a(tag, context, object));
+        register(Method.class,
+                 (templates, tag, context, object) -> templates.a(tag, context, object));
+        register(Collection.class,
+                 (templates, tag, context, object) ->
+                     collection(templates, tag, context, object, object));
+        register(Pattern.class,
+                 (templates, tag, context, object) -> templates.code(object.pattern()));
+        register(Duration.class,
+                 (templates, tag, context, object) -> templates.code(object.toString()));
+    }
+
+    /**
+     * The registry of the built-in renderers only.
+     */
+    public static final JavadocHTMLRenderers BUILTIN = new JavadocHTMLRenderers(Map.of());
+
+    private final Map<Class<?>,JavadocHTMLRenderer<?>> map;
+    private final ClassValue<JavadocHTMLRenderer<?>> renderers =
+        new ClassValue<>() {
+            @Override
+            protected JavadocHTMLRenderer<?> computeValue(Class<?> type) {
+                return getRendererFor(type);
+            }
+        };
+
+    /**
+     * Sole public constructor.  Providers that cannot be instantiated
+     * (or that implement a {@link JavadocHTMLRenderer} loaded by another
+     * {@link ClassLoader}) are ignored.
+     *
+     * @param   loader          The {@link ClassLoader} to search for
+     *                          {@link JavadocHTMLRenderer} service
+     *                          providers.
+     */
+    public JavadocHTMLRenderers(ClassLoader loader) {
+        this(getProvidersOf(loader));
+    }
+
+    private JavadocHTMLRenderers(Map<Class<?>,JavadocHTMLRenderer<?>> providers) {
+        map = new HashMap<>(BUILTINS);
+        map.putAll(providers);
+    }
+
+    private static Map<Class<?>,JavadocHTMLRenderer<?>> getProvidersOf(ClassLoader loader) {
+        var map = new HashMap<Class<?>,JavadocHTMLRenderer<?>>();
+        var iterator = ServiceLoader.load(JavadocHTMLRenderer.class, loader).iterator();
+
+        for (;;) {
+            try {
+                if (iterator.hasNext()) {
+                    var renderer = iterator.next();
+
+                    map.put(renderer.getType(), renderer);
+                } else {
+                    break;
+                }
+            } catch (ServiceConfigurationError error) {
+                continue;
+            }
+        }
+
+        return map;
+    }
+
+    /*
+     * The renderer registered for the type itself or its most specific
+     * superclass, then (for reference arrays) for Object[], and then
+     * for the first interface found breadth-first.
+     */
+    private JavadocHTMLRenderer<?> getRendererFor(Class<?> type) {
+        JavadocHTMLRenderer<?> renderer = null;
+
+        for (var superclass = type;
+             renderer == null && superclass != null && superclass != Object.class;
+             superclass = superclass.getSuperclass()) {
+            renderer = map.get(superclass);
+        }
+
+        if (renderer == null && type.isArray() && (! type.getComponentType().isPrimitive())) {
+            renderer = map.get(Object[].class);
+        }
+
+        if (renderer == null) {
+            var set = new LinkedHashSet<Class<?>>();
+            var queue = new ArrayDeque<Class<?>>();
+
+            for (var superclass = type; superclass != null; superclass = superclass.getSuperclass()) {
+                queue.add(superclass);
+            }
+
+            while (renderer == null && (! queue.isEmpty())) {
+                for (var supertype : queue.remove().getInterfaces()) {
+                    if (set.add(supertype)) {
+                        renderer = (renderer == null) ? map.get(supertype) : renderer;
+                        queue.add(supertype);
+                    }
+                }
+            }
+        }
+
+        if (renderer == null) {
+            renderer = DEFAULT;
+        }
+
+        return renderer;
+    }
+
+    /*
+     * Single-pass rendering of a primitive array (limited to
+     * getRenderLimit() elements).
+     */
+    private static FluentNode array(JavadocHTMLTemplates templates, int length, IntFunction<String> function) {
+        var limit = templates.getRenderLimit();
+        var buffer = new StringBuilder("[");
+
+        for (int i = 0; i < length; i += 1) {
+            if (i > 0) {
+                buffer.append(", ");
+            }
+
+            if (i < limit) {
+                buffer.append(function.apply(i));
+            } else {
+                buffer.append(ELLIPSIS);
+                break;
+            }
+        }
+
+        return templates.text(buffer.append("]").toString());
+    }
+
+    /*
+     * Single-pass rendering of a Collection (or Object[]) limited to
+     * getRenderLimit() elements and getRenderDepth() nesting.  A
+     * container that is being rendered by an enclosing call (a cycle) is
+     * rendered as an ellipsis.
+     */
+    private static FluentNode collection(JavadocHTMLTemplates templates, DocTree tag, Element context, Object container, Iterable<?> iterable) {
+        FluentNode node = null;
+        var stack = STACK.get();
+
+        if (stack.size() < templates.getRenderDepth() && stack.add(container)) {
+            try {
+                var limit = templates.getRenderLimit();
+                var count = 0;
+
+                node = templates.fragment().add(templates.text("["));
+
+                for (var element : iterable) {
+                    if (count > 0) {
+                        node.add(templates.text(", "));
+                    }
+
+                    if (count < limit) {
+                        node.add(templates.toHTML(tag, context, element));
+                        count += 1;
+                    } else {
+                        node.add(templates.text(ELLIPSIS));
+                        break;
+                    }
+                }
+
+                node.add(templates.text("]"));
+            } finally {
+                stack.remove(container);
+            }
+        } else {
+            node = templates.text("[" + ELLIPSIS + "]");
+        }
+
+        return node;
+    }
+
+    private static <T> void register(Class<T> type, ToHTML<T> function) {
+        BUILTINS.put(type, new Renderer<>(type, function));
+    }
+
+    /**
+     * See {@link JavadocHTMLTemplates#toHTML(DocTree,Element,Object)}.
+     *
+     * @param   templates       The {@link JavadocHTMLTemplates}.
+     * @param   tag             The context {@link DocTree}.
+     * @param   context         The context {@link Element}.
+     * @param   object          The target {@link Object}.
+     *
+     * @return  {@link org.w3c.dom.Node}
+     */
+    @SuppressWarnings({ "unchecked" })
+    public FluentNode toHTML(JavadocHTMLTemplates templates, DocTree tag, Element context, Object object) {
+        var renderer =
+            (JavadocHTMLRenderer<Object>)
+            ((object != null) ? renderers.get(object.getClass()) : DEFAULT);
+
+        return renderer.toHTML(templates, tag, context, object);
+    }
+
+    @FunctionalInterface
+    private interface ToHTML<T> {
+        public FluentNode apply(JavadocHTMLTemplates templates, DocTree tag, Element context, T object);
+    }
+
+    private static class Renderer<T> implements JavadocHTMLRenderer<T> {
+        private final Class<T> type;
+        private final ToHTML<T> function;
+
+        public Renderer(Class<T> type, ToHTML<T> function) {
+            this.type = type;
+            this.function = function;
+        }
+
+        @Override
+        public Class<T> getType() { return type; }
+
+        @Override
+        public FluentNode toHTML(JavadocHTMLTemplates templates, DocTree tag, Element context, T object) {
+            return function.apply(templates, tag, context, object);
+        }
+    }
+}
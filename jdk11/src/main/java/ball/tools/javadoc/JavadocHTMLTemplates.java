@@ -32,25 +32,21 @@ import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URI;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
 import java.util.Set;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.TypeVariable;
 import javax.swing.table.TableModel;
-import org.apache.commons.lang3.ArrayUtils;
 import org.w3c.dom.Node;
 
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.SPACE;
 import static org.apache.commons.lang3.StringUtils.isAllBlank;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
@@ -355,6 +351,25 @@ public interface JavadocHTMLTemplates extends HTMLTemplates {
         return fragment().add(a(href(tag, context, type), code(string)));
     }
 
+    /**
+     * {@code <a href="}{@link AnnotationMirror}{@code ">}{@link #code(String) code(String.valueOf(annotation))}{@code </a>}
+     *
+     * @param   tag             The context {@link DocTree}.
+     * @param   context         The context {@link Element}.
+     * @param   annotation      The target {@link AnnotationMirror}.
+     *
+     * @return  {@link org.w3c.dom.Element}
+     */
+    public default FluentNode annotation(DocTree tag, Element context, AnnotationMirror annotation) {
+        var type = (TypeElement) annotation.getAnnotationType().asElement();
+        var string =
+            String.valueOf(annotation)
+            .replace(type.getQualifiedName(), type.getSimpleName())
+            .replaceAll("[(][)]$", "");
+
+        return fragment().add(a(tag, context, type, code(string)));
+    }
+
     /**
      * Method to generate modifiers for {@code declaration()} methods.
      *
@@ -398,8 +413,12 @@ public interface JavadocHTMLTemplates extends HTMLTemplates {
 
         if (type instanceof DeclaredType) {
             node = type(tag, context, (DeclaredType) type);
-        } else /* if (type instanceof TypeVariable) */ {
+        } else if (type instanceof TypeVariable) {
             node = type(tag, context, (TypeVariable) type);
+        } else if (type instanceof ArrayType) {
+            node = fragment(type(tag, context, ((ArrayType) type).getComponentType()), code("[]"));
+        } else {
+            node = code(String.valueOf(type));
         }
 
         return node;
@@ -445,7 +464,16 @@ public interface JavadocHTMLTemplates extends HTMLTemplates {
      * @return  {@link org.w3c.dom.DocumentFragment}
      */
     public default FluentNode type(DocTree tag, Element context, TypeVariable type) {
-        return a(tag, context, (TypeElement) type.asElement(), code(type.toString()));
+        FluentNode node = null;
+        var element = ((TypeParameterElement) type.asElement()).getGenericElement();
+
+        if (element instanceof TypeElement) {
+            node = a(tag, context, (TypeElement) element, code(type.toString()));
+        } else {
+            node = code(type.toString());
+        }
+
+        return node;
     }
 
     /**
@@ -517,28 +545,83 @@ public interface JavadocHTMLTemplates extends HTMLTemplates {
      */
     public default FluentNode table(DocTree tag, Element context, TableModel model, Node... nodes) {
         var table = table();
-        var names =
-            IntStream.range(0, model.getColumnCount())
-            .boxed()
-            .map(model::getColumnName)
-            .toArray(String[]::new);
+        var names = new String[model.getColumnCount()];
+
+        for (int x = 0; x < names.length; x += 1) {
+            names[x] = model.getColumnName(x);
+        }
 
         if (! isAllBlank(names)) {
             table.add(thead(tr(Stream.of(names).map(this::th))));
         }
 
-        table
-            .add(tbody(IntStream.range(0, model.getRowCount())
-                       .boxed()
-                       .map(y -> tr(IntStream.range(0, names.length)
-                                    .boxed()
-                                    .map(x -> td(toHTML(tag, context, model.getValueAt(y, x))))))));
+        return table.add(tbody(tag, context, model)).add(nodes);
+    }
+
+    /**
+     * {@code <tbody>}{@link TableModel model}{@code </tbody>}
+     *
+     * @param   tag             The context {@link DocTree}.
+     * @param   context         The context {@link Element}.
+     * @param   model           The {@link TableModel} to use to create the
+     *                          new table body {@link org.w3c.dom.Element}.
+     *
+     * @return  {@link org.w3c.dom.Element}
+     */
+    public default FluentNode tbody(DocTree tag, Element context, TableModel model) {
+        var tbody = tbody();
+
+        for (int y = 0, n = model.getRowCount(); y < n; y += 1) {
+            tbody.add(tr(tag, context, model, y));
+        }
+
+        return tbody;
+    }
+
+    /**
+     * {@code <tr>}{@link TableModel model} row{@code </tr>}
+     *
+     * @param   tag             The context {@link DocTree}.
+     * @param   context         The context {@link Element}.
+     * @param   model           The {@link TableModel}.
+     * @param   y               The row index.
+     *
+     * @return  {@link org.w3c.dom.Element}
+     */
+    public default FluentNode tr(DocTree tag, Element context, TableModel model, int y) {
+        var tr = tr();
+
+        for (int x = 0, n = model.getColumnCount(); x < n; x += 1) {
+            tr.add(td(toHTML(tag, context, model.getValueAt(y, x))));
+        }
 
-        return table.add(nodes);
+        return tr;
     }
 
+    /**
+     * Method to get the maximum number of elements of a
+     * {@link java.util.Collection} or array rendered by
+     * {@link #toHTML(DocTree,Element,Object)}.
+     *
+     * @return  The maximum number of elements (unlimited by default).
+     */
+    public default int getRenderLimit() { return Integer.MAX_VALUE; }
+
+    /**
+     * Method to get the maximum nesting depth of
+     * {@link java.util.Collection}s and arrays rendered by
+     * {@link #toHTML(DocTree,Element,Object)}.
+     *
+     * @return  The maximum nesting depth (unlimited by default; cycles
+     *          are always rendered as an ellipsis).
+     */
+    public default int getRenderDepth() { return Integer.MAX_VALUE; }
+
     /**
      * Method to get a Javadoc HTML representation of an {@link Object}.
+     * The representation is created by the built-in
+     * {@link JavadocHTMLRenderer} registered for the {@link Object}'s
+     * type ({@link AbstractTaglet} also consults service providers).
      *
      * @param   tag             The context {@link DocTree}.
      * @param   context         The context {@link Element}.
@@ -547,54 +630,6 @@ public interface JavadocHTMLTemplates extends HTMLTemplates {
      * @return  {@link org.w3c.dom.Node}
      */
     public default FluentNode toHTML(DocTree tag, Element context, Object object) {
-        FluentNode node = null;
-
-        if (object instanceof byte[]) {
-            node =
-                text(Stream.of(ArrayUtils.toObject((byte[]) object))
-                     .map (t -> String.format("0x%02X", t))
-                     .collect(joining(", ", "[", "]")));
-        } else if (object instanceof boolean[]) {
-            node = text(Arrays.toString((boolean[]) object));
-        } else if (object instanceof double[]) {
-            node = text(Arrays.toString((double[]) object));
-        } else if (object instanceof float[]) {
-            node = text(Arrays.toString((float[]) object));
-        } else if (object instanceof int[]) {
-            node = text(Arrays.toString((int[]) object));
-        } else if (object instanceof long[]) {
-            node = text(Arrays.toString((long[]) object));
-        } else if (object instanceof Object[]) {
-            node = toHTML(tag, context, Arrays.asList((Object[]) object));
-        } else if (object instanceof Type) {
-            node = type(tag, context, (Type) object);
-        } else if (object instanceof Enum<?>) {
-            node = a(tag, context, (Enum<?>) object);
-        } else if (object instanceof Field) {
-            node = a(tag, context, (Field) object);
-        } else if (object instanceof Constructor) {
-            node = a(tag, context, (Constructor) object);
-        } else if (object instanceof Method) {
-            node = a(tag, context, (Method) object);
-        } else if (object instanceof Collection<?>) {
-            List<Node> nodes =
-                ((Collection<?>) object).stream()
-                .map(t -> toHTML(tag, context, t))
-                .collect(toList());
-
-            for (int i = nodes.size() - 1; i > 0; i -= 1) {
-                nodes.add(i, text(", "));
-            }
-
-            node =
-                fragment()
-                .add(text("["))
-                .add(nodes.stream())
-                .add(text("]"));
-        } else {
-            node = text(String.valueOf(object));
-        }
-
-        return node;
+        return JavadocHTMLRenderers.BUILTIN.toHTML(this, tag, context, object);
     }
 }
@@ -25,14 +25,36 @@ import ball.util.PatternMatcherBean;
 import ball.xml.FluentNode;
 import com.sun.source.doctree.UnknownInlineTagTree;
 import java.io.File;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import javax.lang.model.element.Element;
 import jdk.javadoc.doclet.Taglet;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static javax.tools.Diagnostic.Kind.WARNING;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
 /**
  * Inline {@link Taglet} providing links to {@link.man man(1)} pages.
  *
+ * <p>If the {@value StandardDoclet#MAN_PATH} option is specified, the
+ * HTML man pages under its roots are indexed once per run (see
+ * {@link ManPageIndex}); the index may be persisted with the
+ * {@value StandardDoclet#MAN_INDEX} option.  Otherwise, no man
+ * directories are scanned.  Pages that are not indexed are linked with
+ * the {@value StandardDoclet#MAN_URL} template (with {@code {name}} and
+ * {@code {section}} replaced by their URI path-encoded values) if
+ * specified, or else to
+ * {@code file:/usr/share/man/htmlman}<i>section</i>{@code /}<i>name</i>{@code .}<i>section</i>{@code .html}
+ * (missing pages are reported only if {@value StandardDoclet#MAN_PATH}
+ * is specified).</p>
+ *
  * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
  */
 @TagletName("link.man")
@@ -42,6 +64,7 @@ import lombok.ToString;
 public class LinkManTaglet extends AbstractInlineTaglet implements PatternMatcherBean {
     private String name = null;
     private String section = null;
+    private transient ManPageIndex index = null;
 
     @MatcherGroup(1)
     protected void setName(String string) { name = string; }
@@ -53,14 +76,72 @@ public class LinkManTaglet extends AbstractInlineTaglet implements PatternMatche
     public FluentNode toNode(UnknownInlineTagTree tag, Element context) throws Throwable {
         PatternMatcherBean.super.initialize(getText(tag).trim());
 
-        var path = new File(File.separator);
+        URI href = null;
+        var path = index().get(name, section);
+
+        if (path != null) {
+            href = path.toFile().toURI();
+        } else {
+            var template = getOption(StandardDoclet.MAN_URL);
+
+            if (isNotEmpty(template)) {
+                href =
+                    URI.create(template
+                               .replace("{name}", encode(name))
+                               .replace("{section}", encode(section)));
+            } else {
+                if (isNotEmpty(getOption(StandardDoclet.MAN_PATH))) {
+                    print(WARNING, tag, context, "No man page for %s(%s)", name, section);
+                }
+
+                href =
+                    Paths.get(File.separator, "usr", "share", "man", "htmlman" + section, name + "." + section + ".html")
+                    .toFile().toURI();
+            }
+        }
+
+        return a(href, code(name + "(" + section + ")"));
+    }
+
+    /*
+     * Percent-encode a URI path segment (RFC 3986 unreserved characters
+     * are not encoded).
+     */
+    private String encode(String string) {
+        var buffer = new StringBuilder();
+
+        for (var b : string.getBytes(UTF_8)) {
+            var c = (char) (b & 0xFF);
+
+            if (('A' <= c && c <= 'Z') || ('a' <= c && c <= 'z') || ('0' <= c && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~') {
+                buffer.append(c);
+            } else {
+                buffer.append(String.format("%%%02X", (int) c));
+            }
+        }
+
+        return buffer.toString();
+    }
+
+    private ManPageIndex index() {
+        if (index == null) {
+            var path = getOption(StandardDoclet.MAN_PATH);
+
+            if (isNotEmpty(path)) {
+                var roots =
+                    Stream.of(path.split(Pattern.quote(File.pathSeparator)))
+                    .filter(t -> (! t.isBlank()))
+                    .map(Paths::get)
+                    .collect(toList());
+                var cache = getOption(StandardDoclet.MAN_INDEX);
 
-        path = new File(path, "usr");
-        path = new File(path, "share");
-        path = new File(path, "man");
-        path = new File(path, "htmlman" + section);
-        path = new File(path, name + "." + section + ".html");
+                index = new ManPageIndex(roots, isNotEmpty(cache) ? Paths.get(cache) : null);
+            } else {
+                index = new ManPageIndex(List.of(), null);
+            }
+        }
 
-        return a(path.toURI(), code(name + "(" + section + ")"));
+        return index;
     }
 }
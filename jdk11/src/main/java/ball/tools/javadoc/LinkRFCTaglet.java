@@ -22,14 +22,26 @@ import ball.annotation.ServiceProviderFor;
 import ball.xml.FluentNode;
 import com.sun.source.doctree.UnknownInlineTagTree;
 import java.net.URI;
+import java.nio.file.Paths;
+import java.util.Optional;
 import javax.lang.model.element.Element;
 import jdk.javadoc.doclet.Taglet;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import static javax.tools.Diagnostic.Kind.WARNING;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
 /**
  * Inline {@link Taglet} providing links to external RFCs.
  *
+ * <p>If the {@value StandardDoclet#RFC_INDEX} option specifies a local
+ * {@code rfc-index.xml}, the RFC's title and status are added as the
+ * link's {@code title} (see {@link RFCIndex}).  The compiled index may
+ * be persisted with the {@value StandardDoclet#RFC_INDEX_CACHE} option.
+ * If the index cannot be read, a warning is reported once and plain
+ * links are rendered.</p>
+ *
  * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
  */
 @TagletName("link.rfc")
@@ -41,13 +53,43 @@ public class LinkRFCTaglet extends AbstractInlineTaglet {
     private static final String HOST = "www.rfc-editor.org";
     private static final String PATH = "/rfc/rfc%d.txt";
 
+    private transient Optional<RFCIndex> index = null;
+
     @Override
     public FluentNode toNode(UnknownInlineTagTree tag, Element context) throws Throwable {
         int rfc = Integer.valueOf(getText(tag).trim());
         var node =
             a(new URI(PROTOCOL, HOST, String.format(PATH, rfc), null), String.format(TEXT, rfc))
             .add(attr("target", "newtab"));
+        var description = index(tag, context).map(t -> t.get(rfc)).orElse(null);
+
+        if (description != null) {
+            node.add(attr("title", description));
+        }
 
         return node;
     }
+
+    /*
+     * The index is opened (or the failure reported) once.
+     */
+    private Optional<RFCIndex> index(UnknownInlineTagTree tag, Element context) {
+        if (index == null) {
+            var path = getOption(StandardDoclet.RFC_INDEX);
+
+            index = Optional.empty();
+
+            if (isNotEmpty(path)) {
+                var table = getOption(StandardDoclet.RFC_INDEX_CACHE);
+
+                try {
+                    index = Optional.of(new RFCIndex(Paths.get(path), isNotEmpty(table) ? Paths.get(table) : null));
+                } catch (Exception exception) {
+                    print(WARNING, tag, context, "%s: %s", path, exception.getMessage());
+                }
+            }
+        }
+
+        return index;
+    }
 }
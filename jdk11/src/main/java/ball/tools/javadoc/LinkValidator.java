@@ -0,0 +1,274 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.ToString;
+
+import static ball.tools.javadoc.CacheFiles.writeAtomically;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Link validator for {@link StandardDoclet}.  Relative links are checked
+ * against the generated output directory; {@code http} and
+ * {@code https} links are checked with concurrent {@code HEAD} requests
+ * (queued by host with a limited number in flight per host).  Successful
+ * external results may be persisted and are reused until they expire.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+@ToString
+class LinkValidator {
+
+    /**
+     * Default number of concurrent requests ({@value}).
+     */
+    public static final int THREADS = 8;
+
+    /**
+     * Default number of concurrent requests per host ({@value}).
+     */
+    public static final int PER_HOST = 2;
+
+    /**
+     * Default connect and request timeout in milliseconds ({@value}).
+     */
+    public static final int TIMEOUT = 10 * 1000;
+
+    /**
+     * Default time-to-live of persisted results in hours ({@value}).
+     */
+    public static final int TTL = 7 * 24;
+
+    private final Path root;
+    private final Path cache;
+    private final Duration ttl;
+    private final int threads;
+    private final int perHost;
+    private final Duration timeout;
+    @ToString.Exclude
+    private final HttpClient client;
+
+    /**
+     * Sole constructor.
+     *
+     * @param   root            The output directory.
+     * @param   cache           The {@link Path} to persist external
+     *                          results (may be {@code null}).
+     * @param   ttl             The time-to-live of persisted results.
+     * @param   threads         The number of concurrent requests.
+     * @param   perHost         The number of concurrent requests per
+     *                          host.
+     * @param   timeout         The connect and request timeout.
+     */
+    public LinkValidator(Path root, Path cache, Duration ttl, int threads, int perHost, Duration timeout) {
+        if (threads < 1 || perHost < 1) {
+            throw new IllegalArgumentException("threads=" + threads + ", perHost=" + perHost);
+        }
+
+        this.root = root;
+        this.cache = cache;
+        this.ttl = ttl;
+        this.threads = threads;
+        this.perHost = perHost;
+        this.timeout = timeout;
+        this.client =
+            HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(timeout)
+            .build();
+    }
+
+    /**
+     * Method to validate links.
+     *
+     * @param   links           The {@link Map} of links ({@link URI}s
+     *                          relative to the output directory or
+     *                          absolute) to where they are referenced.
+     *
+     * @return  The {@link Map} of broken links to the reason.
+     */
+    public Map<URI,String> validate(Map<URI,String> links) {
+        var broken = new TreeMap<URI,String>();
+        var checked = load();
+        var originals = new TreeMap<URI,URI>();
+        var queues = new TreeMap<String,Queue<URI>>();
+        var results = new ConcurrentHashMap<URI,Optional<String>>();
+        var executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            for (var link : links.keySet()) {
+                if (! link.isAbsolute()) {
+                    var path = link.getPath();
+
+                    if (path != null && (! path.isEmpty())) {
+                        if (! Files.isRegularFile(root.resolve(path))) {
+                            broken.put(link, "No such file");
+                        }
+                    }
+                } else if (link.getScheme().matches("(?i)https?") && link.getHost() != null) {
+                    var key = strip(link);
+
+                    if ((! checked.containsKey(key)) && originals.putIfAbsent(key, link) == null) {
+                        queues.computeIfAbsent(key.getHost().toLowerCase(), k -> new ConcurrentLinkedQueue<>())
+                            .add(key);
+                    }
+                }
+            }
+            /*
+             * Each host's queue is drained by at most perHost tasks so a
+             * worker never waits on a busy host while other hosts have
+             * links pending.
+             */
+            var futures = new ArrayList<Future<?>>();
+
+            for (var queue : queues.values()) {
+                for (int i = 0, n = Math.min(perHost, queue.size()); i < n; i += 1) {
+                    futures.add(executor.submit(() -> drain(queue, results)));
+                }
+            }
+
+            for (var future : futures) {
+                try {
+                    future.get();
+                } catch (Exception exception) {
+                }
+            }
+
+            var now = System.currentTimeMillis();
+
+            for (var entry : originals.entrySet()) {
+                var reason = results.getOrDefault(entry.getKey(), Optional.of("Not checked"));
+
+                if (reason.isPresent()) {
+                    broken.put(entry.getValue(), reason.get());
+                } else {
+                    checked.put(entry.getKey(), now);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        save(checked);
+
+        return broken;
+    }
+
+    private URI strip(URI uri) {
+        URI value = uri;
+
+        try {
+            value = new URI(uri.getScheme(), uri.getAuthority(), uri.getPath(), uri.getQuery(), null);
+        } catch (Exception exception) {
+        }
+
+        return value;
+    }
+
+    private void drain(Queue<URI> queue, Map<URI,Optional<String>> results) {
+        for (var uri = queue.poll(); uri != null; uri = queue.poll()) {
+            results.put(uri, Optional.ofNullable(check(uri)));
+        }
+    }
+
+    private String check(URI uri) {
+        String reason = null;
+
+        try {
+            var status = send(uri, "HEAD");
+
+            if (status == 405 || status == 501) {
+                status = send(uri, "GET");
+            }
+
+            if (status >= 400) {
+                reason = "HTTP " + status;
+            }
+        } catch (Exception exception) {
+            reason = exception.toString();
+        }
+
+        return reason;
+    }
+
+    private int send(URI uri, String method) throws Exception {
+        var request =
+            HttpRequest.newBuilder(uri)
+            .method(method, HttpRequest.BodyPublishers.noBody())
+            .timeout(timeout)
+            .build();
+
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /*
+     * Persisted format: "<milliseconds> <URI>" lines.
+     */
+    private Map<URI,Long> load() {
+        var map = new TreeMap<URI,Long>();
+
+        if (cache != null && Files.isRegularFile(cache)) {
+            var expired = System.currentTimeMillis() - ttl.toMillis();
+
+            try {
+                for (var line : Files.readAllLines(cache, UTF_8)) {
+                    var argv = line.split(" ", 2);
+
+                    if (argv.length > 1) {
+                        var time = Long.parseLong(argv[0]);
+
+                        if (time > expired) {
+                            map.put(URI.create(argv[1]), time);
+                        }
+                    }
+                }
+            } catch (Exception exception) {
+                map.clear();
+            }
+        }
+
+        return map;
+    }
+
+    private void save(Map<URI,Long> map) {
+        if (cache != null) {
+            var lines = new ArrayList<String>();
+
+            map.forEach((k, v) -> lines.add(v + " " + k));
+
+            writeAtomically(cache, t -> Files.write(t, lines, UTF_8));
+        }
+    }
+}
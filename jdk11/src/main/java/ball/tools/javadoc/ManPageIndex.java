@@ -0,0 +1,185 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import lombok.ToString;
+
+import static ball.tools.javadoc.CacheFiles.writeAtomically;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Index of the HTML man pages ({@code htmlman}<i>section</i>{@code /}<i>name</i>{@code .}<i>section</i>{@code .html})
+ * under a list of man roots.  The roots are scanned once at construction;
+ * the scan may optionally be persisted and is reused while the
+ * modification times of the scanned directories are unchanged.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+@ToString
+class ManPageIndex {
+    private static final String HTMLMAN = "htmlman";
+    private static final String HTML = ".html";
+    private static final String HEADER = "# ";
+
+    private final Map<String,Path> map;
+
+    /**
+     * Sole constructor.
+     *
+     * @param   roots           The man root directories.
+     * @param   cache           The {@link Path} to persist the index
+     *                          (may be {@code null}).
+     */
+    public ManPageIndex(List<Path> roots, Path cache) {
+        var directories = new TreeMap<Path,Long>();
+
+        for (var root : roots) {
+            try (var stream = Files.list(root)) {
+                stream
+                    .filter(Files::isDirectory)
+                    .filter(t -> t.getFileName().toString().startsWith(HTMLMAN))
+                    .forEach(t -> directories.put(t.toAbsolutePath(), getLastModified(t)));
+            } catch (IOException exception) {
+            }
+        }
+
+        var map = (cache != null) ? load(cache, directories) : null;
+
+        if (map == null) {
+            map = new HashMap<>();
+
+            for (var directory : directories.keySet()) {
+                try (var stream = Files.list(directory)) {
+                    for (var path : (Iterable<Path>) stream::iterator) {
+                        var key = getKeyOf(path.getFileName().toString());
+
+                        if (key != null) {
+                            map.putIfAbsent(key, path);
+                        }
+                    }
+                } catch (IOException exception) {
+                }
+            }
+
+            if (cache != null) {
+                save(cache, directories, map);
+            }
+        }
+
+        this.map = map;
+    }
+
+    /**
+     * Method to get the HTML man page {@link Path}.
+     *
+     * @param   name            The man page name.
+     * @param   section         The man page section.
+     *
+     * @return  The {@link Path} or {@code null} if there is no such page.
+     */
+    public Path get(String name, String section) {
+        return map.get(name + "(" + section + ")");
+    }
+
+    /**
+     * Method to get the number of indexed pages.
+     *
+     * @return  The number of indexed pages.
+     */
+    public int size() { return map.size(); }
+
+    private String getKeyOf(String name) {
+        String key = null;
+
+        if (name.endsWith(HTML)) {
+            name = name.substring(0, name.length() - HTML.length());
+
+            int index = name.lastIndexOf(".");
+
+            if (index > 0 && index < name.length() - 1) {
+                key = name.substring(0, index) + "(" + name.substring(index + 1) + ")";
+            }
+        }
+
+        return key;
+    }
+
+    private long getLastModified(Path path) {
+        long modified = -1;
+
+        try {
+            modified = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException exception) {
+        }
+
+        return modified;
+    }
+
+    /*
+     * Persisted format: "# <mtime> <directory>" header lines followed by
+     * "<name(section)> <path>" lines.
+     */
+    private Map<String,Path> load(Path cache, Map<Path,Long> directories) {
+        Map<String,Path> map = null;
+
+        if (Files.isRegularFile(cache)) {
+            try {
+                var stamps = new TreeMap<Path,Long>();
+                var entries = new HashMap<String,Path>();
+
+                for (var line : Files.readAllLines(cache, UTF_8)) {
+                    if (line.startsWith(HEADER)) {
+                        var argv = line.substring(HEADER.length()).split(" ", 2);
+
+                        stamps.put(Path.of(argv[1]), Long.parseLong(argv[0]));
+                    } else {
+                        var argv = line.split(" ", 2);
+
+                        entries.put(argv[0], Path.of(argv[1]));
+                    }
+                }
+
+                if (Objects.equals(stamps, directories)) {
+                    map = entries;
+                }
+            } catch (Exception exception) {
+            }
+        }
+
+        return map;
+    }
+
+    private void save(Path cache, Map<Path,Long> directories, Map<String,Path> map) {
+        var lines = new ArrayList<String>();
+
+        directories.forEach((k, v) -> lines.add(HEADER + v + " " + k));
+        map.forEach((k, v) -> lines.add(k + " " + v));
+
+        writeAtomically(cache, t -> Files.write(t, lines, UTF_8));
+    }
+}
@@ -25,17 +25,17 @@ import ball.xml.FluentNode;
 import com.sun.source.doctree.UnknownInlineTagTree;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.net.JarURLConnection;
+import java.lang.reflect.Field;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpression;
@@ -43,11 +43,11 @@ import javax.xml.xpath.XPathFactory;
 import jdk.javadoc.doclet.Taglet;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import static javax.tools.Diagnostic.Kind.WARNING;
 import static javax.xml.xpath.XPathConstants.NODE;
 import static javax.xml.xpath.XPathConstants.NODESET;
 import static lombok.AccessLevel.PROTECTED;
@@ -131,6 +131,11 @@ public abstract class MavenTaglet extends AbstractInlineTaglet {
     public static class PluginFields extends MavenTaglet {
         private static final String PLUGIN_XML = "META-INF/maven/plugin.xml";
 
+        private final XPathExpression name = compile("name");
+        private final XPathExpression required = compile("required");
+        private final XPathExpression editable = compile("editable");
+        private final XPathExpression description = compile("description");
+
         @Override
         public FluentNode toNode(UnknownInlineTagTree tag, Element context) throws Throwable {
             TypeElement type = null;
@@ -142,13 +147,36 @@ public abstract class MavenTaglet extends AbstractInlineTaglet {
                 type = getEnclosingTypeElement(context);
             }
 
-            var url = getResourceURLOf(asClass(type));
+            var element = type;
+
+            return reflect(() -> {
+                    var implementation = asClass(element);
+                    var document = getPluginDocumentOf(implementation);
+
+                    if (document == null) {
+                        throw new IllegalStateException("Cannot find " + PLUGIN_XML);
+                    }
+
+                    var mojo =
+                        (Node)
+                        compile("/plugin/mojos/mojo[implementation='%s']", element.getQualifiedName())
+                        .evaluate(document, NODE);
+
+                    return div(attr("class", "summary"),
+                               h3("Maven Plugin Parameter Summary"),
+                               table(tag, context, element, implementation, mojo,
+                                     asStream((NodeList) compile("parameters/parameter").evaluate(mojo, NODESET))));
+                });
+        }
+
+        private Document getPluginDocumentOf(Class<?> implementation) throws Exception {
+            var url = getResourceURLOf(implementation);
             var protocol = Protocol.of(url);
             Document document = null;
 
             switch (protocol) {
             case FILE:
-                var root = url.getPath().replaceAll(Pattern.quote(getResourcePathOf(asClass(type))), EMPTY);
+                var root = url.getPath().replaceAll(Pattern.quote(getResourcePathOf(implementation)), EMPTY);
 
                 document =
                     DocumentBuilderFactory.newInstance()
@@ -157,7 +185,7 @@ public abstract class MavenTaglet extends AbstractInlineTaglet {
                 break;
 
             case JAR:
-                var jar = protocol.getJarFile(url);
+                var jar = getJarFile(url);
                 var entry = jar.getEntry(PLUGIN_XML);
 
                 try (var in = jar.getInputStream(entry)) {
@@ -169,35 +197,62 @@ public abstract class MavenTaglet extends AbstractInlineTaglet {
                 break;
             }
 
-            if (document == null) {
-                throw new IllegalStateException("Cannot find " + PLUGIN_XML);
+            return document;
+        }
+
+        /*
+         * Mojo parameters are often private fields of abstract base
+         * mojos, which the member index of the mojo does not include
+         * (they are not inherited), so the index of each superclass is
+         * consulted in turn.  The reflected Field is then looked up in
+         * its declaring Class.
+         */
+        private Field getFieldOf(TypeElement element, Class<?> type, String name) throws Exception {
+            VariableElement variable = null;
+
+            for (var t = element; variable == null && t != null; t = getSuperclassOf(t)) {
+                variable = getFieldOf(t, name);
             }
 
-            var mojo =
-                (Node)
-                compile("/plugin/mojos/mojo[implementation='%s']", type.getQualifiedName())
-                .evaluate(document, NODE);
+            Field field = null;
 
-            return div(attr("class", "summary"),
-                       h3("Maven Plugin Parameter Summary"),
-                       table(tag, context, asClass(type), mojo,
-                             asStream((NodeList) compile("parameters/parameter").evaluate(mojo, NODESET))));
+            if (variable != null) {
+                var declaring = elements.getBinaryName((TypeElement) variable.getEnclosingElement()).toString();
+
+                for (var t = type; field == null && t != null; t = t.getSuperclass()) {
+                    if (t.getName().equals(declaring)) {
+                        field = t.getDeclaredField(name);
+                    }
+                }
+
+                if (field == null) {
+                    field = type.getField(name);
+                }
+            }
+
+            return field;
         }
 
-        private FluentNode table(UnknownInlineTagTree tag, Element context, Class<?> type, Node mojo, Stream<Node> parameters) {
+        private TypeElement getSuperclassOf(TypeElement type) {
+            var superclass = type.getSuperclass();
+
+            return (superclass instanceof DeclaredType) ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        private FluentNode table(UnknownInlineTagTree tag, Element context, TypeElement element, Class<?> type, Node mojo, Stream<Node> parameters) {
             return table(thead(tr(th(EMPTY), th("Field"),
                                   th("Default"), th("Property"),
                                   th("Required"), th("Editable"),
                                   th("Description"))),
-                         tbody(parameters.map(t -> tr(tag, context, type, mojo, t))));
+                         tbody(parameters.map(t -> tr(tag, context, element, type, mojo, t))));
         }
 
-        private FluentNode tr(UnknownInlineTagTree tag, Element context, Class<?> type, Node mojo, Node parameter) {
+        private FluentNode tr(UnknownInlineTagTree tag, Element context, TypeElement element, Class<?> type, Node mojo, Node parameter) {
             var tr = fragment();
 
             try {
-                var name = compile("name").evaluate(parameter);
-                var field = FieldUtils.getField(type, name, true);
+                var name = this.name.evaluate(parameter);
+                var field = getFieldOf(element, type, name);
 
                 if (field != null) {
                     tr =
@@ -207,9 +262,12 @@ public abstract class MavenTaglet extends AbstractInlineTaglet {
                            td(declaration(tag, context, field)),
                            td(code(compile("configuration/%s/@default-value", name).evaluate(mojo))),
                            td(code(compile("configuration/%s", name).evaluate(mojo))),
-                           td(code(compile("required").evaluate(parameter))),
-                           td(code(compile("editable").evaluate(parameter))),
-                           td(p(compile("description").evaluate(parameter))));
+                           td(code(required.evaluate(parameter))),
+                           td(code(editable.evaluate(parameter))),
+                           td(p(description.evaluate(parameter))));
+                } else {
+                    print(WARNING, tag, context,
+                          "%s: No field for parameter '%s'", type.getName(), name);
                 }
             } catch (RuntimeException exception) {
                 throw exception;
@@ -266,18 +324,17 @@ public abstract class MavenTaglet extends AbstractInlineTaglet {
                 break;
 
             case JAR:
-                try (var jar = protocol.getJarFile(url)) {
-                    var entry =
-                        jar.stream()
-                        .filter(t -> PATTERN.matcher(t.getName()).matches())
-                        .findFirst().orElse(null);
+                var jar = getJarFile(url);
+                var entry =
+                    jar.stream()
+                    .filter(t -> PATTERN.matcher(t.getName()).matches())
+                    .findFirst().orElse(null);
 
-                    try (var in = jar.getInputStream(entry)) {
-                        document =
-                            DocumentBuilderFactory.newInstance()
-                            .newDocumentBuilder()
-                            .parse(in);
-                    }
+                try (var in = jar.getInputStream(entry)) {
+                    document =
+                        DocumentBuilderFactory.newInstance()
+                        .newDocumentBuilder()
+                        .parse(in);
                 }
                 break;
             }
@@ -364,16 +421,15 @@ public abstract class MavenTaglet extends AbstractInlineTaglet {
                 break;
 
             case JAR:
-                try (var jar = protocol.getJarFile(url)) {
-                    var entry =
-                        jar.stream()
-                        .filter(t -> PATTERN.matcher(t.getName()).matches())
-                        .findFirst().orElse(null);
-
-                    if (entry != null) {
-                        try (var in = jar.getInputStream(entry)) {
-                            properties.load(in);
-                        }
+                var jar = getJarFile(url);
+                var entry =
+                    jar.stream()
+                    .filter(t -> PATTERN.matcher(t.getName()).matches())
+                    .findFirst().orElse(null);
+
+                if (entry != null) {
+                    try (var in = jar.getInputStream(entry)) {
+                        properties.load(in);
                     }
                 }
                 break;
@@ -393,22 +449,6 @@ public abstract class MavenTaglet extends AbstractInlineTaglet {
         public static Protocol of(URL url) {
             return valueOf(url.getProtocol().toUpperCase());
         }
-
-        public JarFile getJarFile(URL url) throws IOException {
-            JarFile jar = null;
-
-            switch (this) {
-            case JAR:
-                jar = ((JarURLConnection) url.openConnection()).getJarFile();
-                break;
-
-            default:
-                throw new IllegalStateException();
-                /* break; */
-            }
-
-            return jar;
-        }
     }
 
     private static class POMProperties extends PropertiesImpl {
@@ -0,0 +1,284 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import lombok.ToString;
+
+import static ball.tools.javadoc.CacheFiles.writeAtomically;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * RFC metadata (title, status, and obsoleting RFCs) index compiled from
+ * an {@code rfc-index.xml} file.  The index is compiled into a compact
+ * table.  If a table file is specified, the table is persisted there,
+ * memory-mapped, and recompiled only if the source's size or
+ * modification time changes.  Look-ups are O(1): the table is directly
+ * indexed by RFC number.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+@ToString
+class RFCIndex {
+    private static final int MAGIC = 0x52464349;        /* "RFCI" */
+    private static final int VERSION = 1;
+    private static final int HEADER = 4 + 4 + 8 + 8 + 4;
+
+    private static final String RFC_ENTRY = "rfc-entry";
+    private static final String DOC_ID = "doc-id";
+    private static final String TITLE = "title";
+    private static final String CURRENT_STATUS = "current-status";
+    private static final String OBSOLETED_BY = "obsoleted-by";
+
+    private final ByteBuffer buffer;
+    private final int count;
+
+    /**
+     * Sole constructor.
+     *
+     * @param   source          The {@code rfc-index.xml} {@link Path}.
+     * @param   table           The {@link Path} to persist the compiled
+     *                          table (may be {@code null}).
+     *
+     * @throws  IOException     If the index cannot be read or compiled.
+     * @throws  XMLStreamException
+     *                          If the source cannot be parsed.
+     */
+    public RFCIndex(Path source, Path table) throws IOException, XMLStreamException {
+        var size = Files.size(source);
+        var modified = Files.getLastModifiedTime(source).toMillis();
+        var buffer = (table != null && isCurrent(table, size, modified)) ? map(table) : null;
+
+        if (buffer == null) {
+            var bytes = compile(source, size, modified);
+
+            buffer = ByteBuffer.wrap(bytes);
+
+            if (table != null && writeAtomically(table, t -> Files.write(t, bytes))) {
+                try {
+                    buffer = map(table);
+                } catch (IOException exception) {
+                }
+            }
+        }
+
+        this.buffer = buffer;
+        this.count = buffer.getInt(HEADER - 4);
+    }
+
+    /**
+     * Method to get the description ({@code "<title> (<status>; obsoleted by <rfc>, ...)"})
+     * of an RFC.
+     *
+     * @param   rfc             The RFC number.
+     *
+     * @return  The description or {@code null} if the RFC is not
+     *          indexed.
+     */
+    public String get(int rfc) {
+        String description = null;
+
+        if (rfc >= 0 && rfc < count) {
+            var offset = buffer.getInt(HEADER + 4 * rfc);
+
+            if (offset > 0) {
+                var length = buffer.getInt(offset);
+                var bytes = new byte[length];
+
+                buffer.duplicate().position(offset + 4).get(bytes);
+
+                description = new String(bytes, UTF_8);
+            }
+        }
+
+        return description;
+    }
+
+    private static boolean isCurrent(Path table, long size, long modified) {
+        var current = false;
+
+        if (Files.isRegularFile(table)) {
+            try (var channel = FileChannel.open(table, READ)) {
+                var header = ByteBuffer.allocate(HEADER);
+
+                while (header.hasRemaining() && channel.read(header) >= 0) {
+                    continue;
+                }
+
+                header.flip();
+
+                current =
+                    header.remaining() == HEADER
+                    && header.getInt() == MAGIC && header.getInt() == VERSION
+                    && header.getLong() == size && header.getLong() == modified;
+            } catch (IOException exception) {
+            }
+        }
+
+        return current;
+    }
+
+    private static ByteBuffer map(Path table) throws IOException {
+        try (var channel = FileChannel.open(table, READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /*
+     * Table format: MAGIC, VERSION, source size, source modification
+     * time, count; count int offsets (0 if absent) indexed by RFC
+     * number; and length-prefixed UTF-8 descriptions.
+     */
+    private static byte[] compile(Path source, long size, long modified) throws IOException, XMLStreamException {
+        var map = new TreeMap<Integer,String>();
+
+        try (var in = Files.newInputStream(source)) {
+            parse(in, map);
+        }
+
+        var count = map.isEmpty() ? 0 : map.lastKey() + 1;
+        var strings = new ArrayList<byte[]>(map.size());
+        var length = HEADER + 4 * count;
+
+        for (var value : map.values()) {
+            var bytes = value.getBytes(UTF_8);
+
+            strings.add(bytes);
+            length += 4 + bytes.length;
+        }
+
+        var buffer = ByteBuffer.allocate(length);
+
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(size).putLong(modified).putInt(count);
+
+        var offset = HEADER + 4 * count;
+        var i = 0;
+
+        for (var key : map.keySet()) {
+            buffer.putInt(HEADER + 4 * key, offset);
+            offset += 4 + strings.get(i++).length;
+        }
+
+        buffer.position(HEADER + 4 * count);
+
+        for (var bytes : strings) {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+
+        return buffer.array();
+    }
+
+    private static void parse(InputStream in, TreeMap<Integer,String> map) throws XMLStreamException {
+        var factory = XMLInputFactory.newFactory();
+
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        var reader = factory.createXMLStreamReader(in);
+
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                    && reader.getLocalName().equals(RFC_ENTRY)) {
+                    entry(reader, map);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static void entry(XMLStreamReader reader, TreeMap<Integer,String> map) throws XMLStreamException {
+        String id = null;
+        String title = null;
+        String status = null;
+        List<String> obsoletedBy = new ArrayList<>();
+        var depth = 1;
+        var inObsoletedBy = false;
+
+        while (depth > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                depth += 1;
+
+                var name = reader.getLocalName();
+
+                if (depth == 2 && name.equals(DOC_ID)) {
+                    id = reader.getElementText().trim();
+                    depth -= 1;
+                } else if (depth == 2 && name.equals(TITLE)) {
+                    title = reader.getElementText().trim().replaceAll("[\\p{Space}]+", " ");
+                    depth -= 1;
+                } else if (depth == 2 && name.equals(CURRENT_STATUS)) {
+                    status = reader.getElementText().trim();
+                    depth -= 1;
+                } else if (depth == 2 && name.equals(OBSOLETED_BY)) {
+                    inObsoletedBy = true;
+                } else if (depth == 3 && inObsoletedBy && name.equals(DOC_ID)) {
+                    obsoletedBy.add(reader.getElementText().trim().replaceAll("^RFC0*", "RFC"));
+                    depth -= 1;
+                }
+                break;
+
+            case XMLStreamConstants.END_ELEMENT:
+                depth -= 1;
+
+                if (depth == 1) {
+                    inObsoletedBy = false;
+                }
+                break;
+
+            default:
+                break;
+            }
+        }
+
+        if (id != null && id.matches("RFC[0-9]+") && title != null) {
+            var description = new StringBuilder(title);
+            var details = new ArrayList<String>();
+
+            if (status != null) {
+                details.add(status);
+            }
+
+            if (! obsoletedBy.isEmpty()) {
+                details.add("obsoleted by " + String.join(", ", obsoletedBy));
+            }
+
+            if (! details.isEmpty()) {
+                description.append(" (").append(String.join("; ", details)).append(")");
+            }
+
+            map.put(Integer.parseInt(id.substring(3)), description.toString());
+        }
+    }
+}
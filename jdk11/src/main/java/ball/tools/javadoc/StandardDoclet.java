@@ -21,11 +21,20 @@ package ball.tools.javadoc;
 import ball.lang.reflect.InterceptingInvocationHandler;
 import java.io.File;
 import java.net.URI;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.jar.JarFile;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 import jdk.javadoc.doclet.DocletEnvironment;
 import jdk.javadoc.doclet.Reporter;
@@ -33,6 +42,8 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import static java.util.stream.Collectors.toSet;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.Diagnostic.Kind.NOTE;
 import static javax.tools.Diagnostic.Kind.WARNING;
 
 /**
@@ -43,15 +54,198 @@ import static javax.tools.Diagnostic.Kind.WARNING;
  */
 @NoArgsConstructor @ToString
 public class StandardDoclet extends jdk.javadoc.doclet.StandardDoclet {
+
+    /**
+     * Option ({@value}) to specify the file to persist the
+     * {@link ClassPathIndexClassLoader} index.
+     */
+    public static final String CLASSPATH_INDEX = "--classpath-index";
+
+    /**
+     * Option ({@value}) to direct {@link AbstractTaglet} implementations
+     * to analyze the {@link javax.lang.model} element model instead of
+     * loading (and initializing) documented classes where supported.
+     */
+    public static final String ELEMENT_MODEL = "--element-model";
+
+    /**
+     * Option ({@value}) to specify the time budget (in milliseconds) for
+     * reflective access to documented classes by {@link AbstractTaglet}
+     * implementations.  See {@link AbstractTaglet#reflect(Callable)}.
+     */
+    public static final String TIMEOUT = "--taglet-timeout";
+
+    /**
+     * Option ({@value}) to specify the maximum number of lines
+     * {@link IncludeTaglet} includes from a resource.
+     */
+    public static final String INCLUDE_LIMIT = "--include-limit";
+
+    /**
+     * Option ({@value}) to specify the maximum number of table rows
+     * {@link IncludeTaglet} renders from a {@link java.util.Collection}
+     * or {@link java.util.Map} field.
+     */
+    public static final String INCLUDE_ROWS = "--include-rows";
+
+    /**
+     * Option ({@value}) to specify the maximum number of
+     * {@link java.util.Collection} or array elements rendered.  See
+     * {@link JavadocHTMLTemplates#getRenderLimit()}.
+     */
+    public static final String RENDER_LIMIT = "--render-limit";
+
+    /**
+     * Option ({@value}) to specify the maximum nesting depth of
+     * {@link java.util.Collection}s and arrays rendered.  See
+     * {@link JavadocHTMLTemplates#getRenderDepth()}.
+     */
+    public static final String RENDER_DEPTH = "--render-depth";
+
+    /**
+     * Option ({@value}) to specify the maximum nesting depth of
+     * {@link AntTaskTaglet} nested element expansion.
+     */
+    public static final String ANT_DEPTH = "--ant-depth";
+
+    /**
+     * Option ({@value}) to specify the maximum number of types
+     * {@link AntTaskTaglet} expands as nested elements.
+     */
+    public static final String ANT_LIMIT = "--ant-limit";
+
+    /**
+     * Option ({@value}) to validate the links generated by
+     * {@link AbstractTaglet} implementations after the documentation is
+     * generated.  See {@link LinkValidator}.
+     */
+    public static final String VALIDATE_LINKS = "--validate-links";
+
+    /**
+     * Option ({@value}) to specify the file to persist
+     * {@value #VALIDATE_LINKS} external link results.
+     */
+    public static final String LINK_CACHE = "--link-cache";
+
+    /**
+     * Option ({@value}) to specify the number of concurrent
+     * {@value #VALIDATE_LINKS} requests (default
+     * {@value LinkValidator#THREADS}).
+     */
+    public static final String LINK_THREADS = "--link-threads";
+
+    /**
+     * Option ({@value}) to specify the number of concurrent
+     * {@value #VALIDATE_LINKS} requests per host (default
+     * {@value LinkValidator#PER_HOST}).
+     */
+    public static final String LINK_HOST_LIMIT = "--link-host-limit";
+
+    /**
+     * Option ({@value}) to specify the {@value #VALIDATE_LINKS} connect
+     * and request timeout in milliseconds (default
+     * {@value LinkValidator#TIMEOUT}).
+     */
+    public static final String LINK_TIMEOUT = "--link-timeout";
+
+    /**
+     * Option ({@value}) to specify the time-to-live in hours of
+     * {@value #LINK_CACHE} results (default {@value LinkValidator#TTL}).
+     */
+    public static final String LINK_CACHE_TTL = "--link-cache-ttl";
+
+    /**
+     * Option ({@value}) to specify the {@link LinkManTaglet} man root
+     * directories ({@link File#pathSeparator}-separated).
+     */
+    public static final String MAN_PATH = "--man-path";
+
+    /**
+     * Option ({@value}) to specify the file to persist the
+     * {@link ManPageIndex}.
+     */
+    public static final String MAN_INDEX = "--man-index";
+
+    /**
+     * Option ({@value}) to specify the {@link LinkManTaglet} URL template
+     * for pages not found locally.
+     */
+    public static final String MAN_URL = "--man-url";
+
+    /**
+     * Option ({@value}) to specify the local {@code rfc-index.xml}
+     * {@link LinkRFCTaglet} uses for RFC titles and status.
+     */
+    public static final String RFC_INDEX = "--rfc-index";
+
+    /**
+     * Option ({@value}) to specify the file to persist the compiled
+     * {@value #RFC_INDEX} table.
+     */
+    public static final String RFC_INDEX_CACHE = "--rfc-index-cache";
+
     private final Map<URI,URI> links = new TreeMap<>();
     private Locale locale = null;
     private Reporter reporter = null;
+    private File destination = new File(".");
+    private ClassLoaderPool pool = null;
 
     /**
      * {@link Extern} {@link Map} for {@link AbstractTaglet} instances.
      */
     public final Map<String,URI> extern = new Extern();
 
+    /**
+     * {@link JarFilePool} for {@link AbstractTaglet} instances (exposed
+     * as a {@link Function}).  Closed at the end of
+     * {@link #run(DocletEnvironment)}.
+     */
+    public final Function<Path,JarFile> jars = new JarFilePool();
+
+    /**
+     * The run-scoped class path {@link ClassLoader} shared by
+     * {@link AbstractTaglet} instances (see
+     * {@link ClassLoaderPool#getClassLoader(ClassLoader)}).  Closed at the
+     * end of {@link #run(DocletEnvironment)}.
+     */
+    public final Function<ClassLoader,ClassLoader> loader = t -> pool.getClassLoader(t);
+
+    /**
+     * Run-scoped isolated class path {@link ClassLoader} (see
+     * {@link ClassLoaderPool#getIsolatedClassLoader(ClassLoader)}) used by
+     * {@link AbstractTaglet#reflect(Callable)}.  Closed at the end of
+     * {@link #run(DocletEnvironment)}.
+     */
+    public final Function<ClassLoader,URLClassLoader> isolated = t -> pool.getIsolatedClassLoader(t);
+
+    /**
+     * Option values (see {@link #getSupportedOptions()}) for
+     * {@link AbstractTaglet} instances.
+     */
+    public final Map<String,String> options = new TreeMap<>();
+
+    /**
+     * {@link javax.lang.model.element.TypeElement} name::members indices
+     * shared by {@link AbstractTaglet} instances.  See
+     * {@link AbstractTaglet#getMembersOf(javax.lang.model.element.TypeElement)}.
+     */
+    public final Map<Element,Map<String,List<Element>>> members = new ConcurrentHashMap<>();
+
+    /**
+     * The included ({@link DocletEnvironment#isIncluded(Element)})
+     * modules, packages, types, and members computed once at the start of
+     * {@link #run(DocletEnvironment)} and shared by
+     * {@link AbstractTaglet} instances.
+     */
+    public final Set<Element> included = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Links ({@link URI}s relative to the output directory or absolute)
+     * generated by {@link AbstractTaglet} instances (mapped to where they
+     * are referenced) if {@value #VALIDATE_LINKS} is specified.
+     */
+    public final Map<URI,String> hrefs = new ConcurrentHashMap<>();
+
     @Override
     public void init(Locale locale, Reporter reporter) {
         this.locale = locale;
@@ -68,11 +262,83 @@ public class StandardDoclet extends jdk.javadoc.doclet.StandardDoclet {
             .map(t -> (Option) t.newProxyInstance(Option.class))
             .collect(toSet());
 
+        set.add(new OptionImpl(CLASSPATH_INDEX, "<file>",
+                               "File to persist the taglet class path index"));
+        set.add(new OptionImpl(ELEMENT_MODEL, null,
+                               "Taglets analyze the element model instead of loading documented classes"));
+        set.add(new OptionImpl(TIMEOUT, "<milliseconds>",
+                               "Time budget for taglet reflective access to documented classes",
+                               1, Long.MAX_VALUE));
+        set.add(new OptionImpl(INCLUDE_LIMIT, "<lines>",
+                               "Maximum number of lines included from a resource",
+                               0, Integer.MAX_VALUE));
+        set.add(new OptionImpl(INCLUDE_ROWS, "<rows>",
+                               "Maximum number of rows included from a Collection or Map field",
+                               0, Integer.MAX_VALUE));
+        set.add(new OptionImpl(RENDER_LIMIT, "<elements>",
+                               "Maximum number of collection or array elements rendered",
+                               0, Integer.MAX_VALUE));
+        set.add(new OptionImpl(RENDER_DEPTH, "<depth>",
+                               "Maximum nesting depth of collections and arrays rendered",
+                               0, Integer.MAX_VALUE));
+        set.add(new OptionImpl(ANT_DEPTH, "<depth>",
+                               "Maximum nesting depth of Ant nested elements expanded",
+                               0, Integer.MAX_VALUE));
+        set.add(new OptionImpl(ANT_LIMIT, "<types>",
+                               "Maximum number of Ant types expanded as nested elements",
+                               0, Integer.MAX_VALUE));
+        set.add(new OptionImpl(VALIDATE_LINKS, null,
+                               "Validate the links generated by taglets"));
+        set.add(new OptionImpl(LINK_CACHE, "<file>",
+                               "File to persist validated external links"));
+        set.add(new OptionImpl(LINK_THREADS, "<threads>",
+                               "Number of concurrent link validation requests",
+                               1, Integer.MAX_VALUE));
+        set.add(new OptionImpl(LINK_HOST_LIMIT, "<requests>",
+                               "Number of concurrent link validation requests per host",
+                               1, Integer.MAX_VALUE));
+        set.add(new OptionImpl(LINK_TIMEOUT, "<milliseconds>",
+                               "Link validation connect and request timeout",
+                               1, Integer.MAX_VALUE));
+        set.add(new OptionImpl(LINK_CACHE_TTL, "<hours>",
+                               "Time-to-live of persisted validated external links",
+                               0, Integer.MAX_VALUE));
+        set.add(new OptionImpl(MAN_PATH, "<path>",
+                               "Man page root directories"));
+        set.add(new OptionImpl(MAN_INDEX, "<file>",
+                               "File to persist the man page index"));
+        set.add(new OptionImpl(MAN_URL, "<template>",
+                               "URL template ({name}, {section}) for man pages not found locally"));
+        set.add(new OptionImpl(RFC_INDEX, "<file>",
+                               "Local rfc-index.xml for RFC titles and status"));
+        set.add(new OptionImpl(RFC_INDEX_CACHE, "<file>",
+                               "File to persist the compiled RFC index"));
+
         return set;
     }
 
     @Override
     public boolean run(DocletEnvironment env) {
+        var cache = options.get(CLASSPATH_INDEX);
+
+        pool =
+            new ClassLoaderPool(ClassLoaderPool.getClassPathOf(env.getJavaFileManager()), jars,
+                                (cache != null) ? new File(cache).toPath() : null);
+
+        included.clear();
+
+        for (var element : env.getIncludedElements()) {
+            included.add(element);
+
+            if (element instanceof TypeElement) {
+                for (var member : element.getEnclosedElements()) {
+                    if (env.isIncluded(member)) {
+                        included.add(member);
+                    }
+                }
+            }
+        }
+
         for (var key : links.keySet()) {
             var value = links.get(key);
 
@@ -83,7 +349,55 @@ public class StandardDoclet extends jdk.javadoc.doclet.StandardDoclet {
             }
         }
 
-        return super.run(env);
+        try {
+            var result = super.run(env);
+
+            if (result && options.containsKey(VALIDATE_LINKS)) {
+                validate();
+            }
+
+            return result;
+        } finally {
+            close();
+        }
+    }
+
+    private void validate() {
+        var cache = options.get(LINK_CACHE);
+        var validator =
+            new LinkValidator(destination.toPath(),
+                              (cache != null) ? new File(cache).toPath() : null,
+                              Duration.ofHours(getOption(LINK_CACHE_TTL, LinkValidator.TTL)),
+                              getOption(LINK_THREADS, LinkValidator.THREADS),
+                              getOption(LINK_HOST_LIMIT, LinkValidator.PER_HOST),
+                              Duration.ofMillis(getOption(LINK_TIMEOUT, LinkValidator.TIMEOUT)));
+        var broken = validator.validate(hrefs);
+
+        broken.forEach((k, v) -> print(WARNING, "%s: Broken link %s (%s)", hrefs.get(k), k, v));
+        print(NOTE, "%d link(s) checked; %d broken", hrefs.size(), broken.size());
+    }
+
+    private int getOption(String name, int value) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : value;
+    }
+
+    private void close() {
+        try {
+            pool.close();
+        } catch (Exception exception) {
+            print(WARNING, "%s", exception.getMessage());
+        }
+
+        var jarFiles = (JarFilePool) jars;
+
+        print(NOTE, "%d jar file(s) opened; %d look-up(s) reused an open handle",
+              jarFiles.getOpenedCount(), jarFiles.getReusedCount());
+
+        try {
+            jarFiles.close();
+        } catch (Exception exception) {
+            print(WARNING, "%s", exception.getMessage());
+        }
     }
 
     /**
@@ -100,11 +414,78 @@ public class StandardDoclet extends jdk.javadoc.doclet.StandardDoclet {
         reporter.print(kind, String.format(format, argv));
     }
 
+    @ToString
+    private class OptionImpl implements Option {
+        private final String name;
+        private final String parameters;
+        private final String description;
+        private final long minimum;
+        private final long maximum;
+
+        public OptionImpl(String name, String parameters, String description) {
+            this(name, parameters, description, 0, -1);
+        }
+
+        /*
+         * Integral option whose value must be in the range
+         * [minimum, maximum].
+         */
+        public OptionImpl(String name, String parameters, String description, long minimum, long maximum) {
+            this.name = name;
+            this.parameters = parameters;
+            this.description = description;
+            this.minimum = minimum;
+            this.maximum = maximum;
+        }
+
+        @Override
+        public int getArgumentCount() { return (parameters != null) ? 1 : 0; }
+
+        @Override
+        public String getDescription() { return description; }
+
+        @Override
+        public Option.Kind getKind() { return Option.Kind.STANDARD; }
+
+        @Override
+        public List<String> getNames() { return List.of(name); }
+
+        @Override
+        public String getParameters() { return (parameters != null) ? parameters : ""; }
+
+        @Override
+        public boolean process(String option, List<String> argv) {
+            var value = (! argv.isEmpty()) ? argv.get(0) : String.valueOf(true);
+            var valid = true;
+
+            if (minimum <= maximum) {
+                try {
+                    var number = Long.parseLong(value.trim());
+
+                    valid = (minimum <= number && number <= maximum);
+                } catch (NumberFormatException exception) {
+                    valid = false;
+                }
+            }
+
+            if (valid) {
+                options.put(name, (minimum <= maximum) ? value.trim() : value);
+            } else {
+                print(ERROR, "%s: Invalid value '%s' (expected an integer from %d to %d)",
+                      option, value, minimum, maximum);
+            }
+
+            return valid;
+        }
+    }
+
     private class OptionWrapper extends InterceptingInvocationHandler<Option> {
         public OptionWrapper(Option option) { super(option); }
 
         public void process(String option, List<String> argv) {
-            if (getTarget().getNames().contains("-link")) {
+            if (getTarget().getNames().contains("-d")) {
+                destination = new File(argv.get(0));
+            } else if (getTarget().getNames().contains("-link")) {
                 links.put(asURI(argv.get(0)), null);
             } else if (getTarget().getNames().contains("-linkoffline")) {
                 links.put(asURI(argv.get(0)), new File(argv.get(1)).toURI());
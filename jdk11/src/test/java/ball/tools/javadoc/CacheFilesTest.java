@@ -0,0 +1,69 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static ball.tools.javadoc.CacheFiles.writeAtomically;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link CacheFiles} tests.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+public class CacheFilesTest {
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void replacesTheTarget() throws Exception {
+        var path = directory.resolve("a").resolve("cache.txt");
+
+        assertTrue(writeAtomically(path, t -> Files.write(t, List.of("1"), UTF_8)));
+        assertTrue(writeAtomically(path, t -> Files.write(t, List.of("2"), UTF_8)));
+        assertEquals(List.of("2"), Files.readAllLines(path, UTF_8));
+        assertEquals(1, count(path.getParent()));
+    }
+
+    @Test
+    public void leavesTheTargetOnFailure() throws Exception {
+        var path = directory.resolve("cache.txt");
+
+        Files.write(path, List.of("1"), UTF_8);
+
+        assertFalse(writeAtomically(path, t -> { throw new IOException(); }));
+        assertEquals(List.of("1"), Files.readAllLines(path, UTF_8));
+        assertEquals(1, count(directory));
+    }
+
+    private long count(Path directory) throws IOException {
+        try (var stream = Files.list(directory)) {
+            return stream.count();
+        }
+    }
+}
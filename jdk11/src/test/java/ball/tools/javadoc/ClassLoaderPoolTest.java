@@ -0,0 +1,164 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static javax.tools.StandardLocation.CLASS_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link ClassLoaderPool} tests.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+public class ClassLoaderPoolTest {
+    private static final String NAME = "p.Counted";
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void definesEachClassOncePerRun() throws Exception {
+        var root = compile(NAME,
+                           "package p;\n"
+                           + "public class Counted {\n"
+                           + "    static {\n"
+                           + "        System.setProperty(\"" + NAME + "\", String.valueOf(Integer.getInteger(\"" + NAME + "\", 0) + 1));\n"
+                           + "    }\n"
+                           + "}\n");
+
+        System.clearProperty(NAME);
+
+        try (var jars = new JarFilePool();
+             var pool = new ClassLoaderPool(List.of(root), jars, null);
+             var first = new URLClassLoader(new URL[] { }, getClass().getClassLoader());
+             var second = new URLClassLoader(new URL[] { }, getClass().getClassLoader())) {
+            var loader = pool.getClassLoader(first);
+
+            assertSame(loader, pool.getClassLoader(second));
+
+            var type = Class.forName(NAME, true, pool.getClassLoader(first));
+
+            assertSame(loader, type.getClassLoader());
+            assertSame(type, Class.forName(NAME, true, pool.getClassLoader(second)));
+            assertEquals(1, Integer.getInteger(NAME));
+        } finally {
+            System.clearProperty(NAME);
+        }
+    }
+
+    @Test
+    public void isolatesClassLoadersSharingTheIndex() throws Exception {
+        var root = compile(NAME, "package p;\npublic class Counted { }\n");
+
+        try (var jars = new JarFilePool();
+             var pool = new ClassLoaderPool(List.of(root), jars, null)) {
+            var shared = pool.getClassLoader(getClass().getClassLoader());
+            var type = Class.forName(NAME, false, shared);
+
+            try (var isolated = pool.newClassLoader(null)) {
+                assertSame(shared.getParent(), isolated.getParent());
+
+                var copy = Class.forName(NAME, false, isolated);
+
+                assertNotSame(type, copy);
+                assertSame(isolated, copy.getClassLoader());
+            }
+
+            assertSame(type, Class.forName(NAME, false, pool.getClassLoader(null)));
+        }
+    }
+
+    @Test
+    public void reusesTheIsolatedClassLoaderUntilClosed() throws Exception {
+        var root = compile(NAME, "package p;\npublic class Counted { }\n");
+
+        try (var jars = new JarFilePool();
+             var pool = new ClassLoaderPool(List.of(root), jars, null)) {
+            var isolated = pool.getIsolatedClassLoader(getClass().getClassLoader());
+            var type = Class.forName(NAME, false, isolated);
+
+            assertSame(isolated, pool.getIsolatedClassLoader(null));
+            assertSame(type, Class.forName(NAME, false, pool.getIsolatedClassLoader(null)));
+            assertNotSame(type, Class.forName(NAME, false, pool.getClassLoader(null)));
+
+            isolated.close();
+
+            assertNotSame(isolated, pool.getIsolatedClassLoader(null));
+        }
+    }
+
+    @Test
+    public void closesTheClassLoaderWithThePool() throws Exception {
+        try (var jars = new JarFilePool()) {
+            var pool = new ClassLoaderPool(List.of(directory), jars, null);
+            var loader = pool.getClassLoader(getClass().getClassLoader());
+
+            pool.close();
+
+            assertNotSame(loader, pool.getClassLoader(getClass().getClassLoader()));
+
+            pool.close();
+        }
+    }
+
+    @Test
+    public void getsTheClassPathOfAnyFileManager() throws Exception {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+
+        try (var fm = compiler.getStandardFileManager(null, null, null)) {
+            fm.setLocationFromPaths(CLASS_PATH, List.of(directory));
+
+            assertEquals(List.of(directory), ClassLoaderPool.getClassPathOf(fm));
+
+            var forwarding = new ForwardingJavaFileManager<JavaFileManager>(fm) { };
+
+            assertEquals(List.of(directory.toRealPath()),
+                         List.of(ClassLoaderPool.getClassPathOf(forwarding).get(0).toRealPath()));
+        }
+    }
+
+    private Path compile(String name, String source) throws Exception {
+        var sources = Files.createDirectories(directory.resolve("src"));
+        var classes = Files.createDirectories(directory.resolve("classes"));
+        var file = sources.resolve(name.substring(name.lastIndexOf('.') + 1) + ".java");
+
+        Files.writeString(file, source);
+
+        var status =
+            ToolProvider.getSystemJavaCompiler()
+            .run(null, null, null, "-d", classes.toString(), file.toString());
+
+        assertEquals(0, status);
+
+        return classes;
+    }
+}
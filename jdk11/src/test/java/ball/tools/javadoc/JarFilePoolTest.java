@@ -0,0 +1,98 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarOutputStream;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link JarFilePool} tests.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+public class JarFilePoolTest {
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void sharesOpenHandles() throws Exception {
+        var path = jar(directory.resolve("a.jar"), "a/b.txt");
+
+        try (var pool = new JarFilePool()) {
+            var jar = pool.open(path);
+
+            assertNotNull(jar.getEntry("a/b.txt"));
+            assertSame(jar, pool.open(directory.resolve(".").resolve("a.jar")));
+            assertSame(jar, pool.apply(path));
+            assertEquals(1, pool.getOpenedCount());
+            assertEquals(2, pool.getReusedCount());
+        }
+    }
+
+    @Test
+    public void sharesOpenHandlesAcrossThreads() throws Exception {
+        var path = jar(directory.resolve("a.jar"), "a/b.txt");
+
+        try (var pool = new JarFilePool()) {
+            var jars =
+                IntStream.range(0, 16).parallel()
+                .mapToObj(t -> pool.apply(path))
+                .distinct()
+                .count();
+
+            assertEquals(1, jars);
+            assertEquals(1, pool.getOpenedCount());
+            assertEquals(15, pool.getReusedCount());
+        }
+    }
+
+    @Test
+    public void reportsMissingArchives() throws Exception {
+        try (var pool = new JarFilePool()) {
+            var path = directory.resolve("missing.jar");
+
+            assertThrows(IOException.class, () -> pool.open(path));
+            assertThrows(UncheckedIOException.class, () -> pool.apply(path));
+            assertEquals(0, pool.getOpenedCount());
+        }
+    }
+
+    private static Path jar(Path path, String... entries) throws IOException {
+        try (var out = new JarOutputStream(Files.newOutputStream(path))) {
+            for (var entry : entries) {
+                out.putNextEntry(new ZipEntry(entry));
+                out.closeEntry();
+            }
+        }
+
+        return path;
+    }
+}
@@ -0,0 +1,141 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link LinkValidator} tests against a loopback {@link HttpServer}.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+public class LinkValidatorTest {
+    private final Map<String,AtomicInteger> requests = new ConcurrentHashMap<>();
+    private HttpServer server = null;
+
+    @TempDir
+    public Path root;
+
+    @BeforeEach
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200));
+        server.createContext("/missing", exchange -> respond(exchange, 404));
+        server.createContext("/get-only",
+                             exchange -> respond(exchange, exchange.getRequestMethod().equals("HEAD") ? 405 : 200));
+        server.start();
+    }
+
+    @AfterEach
+    public void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    public void ok() {
+        var broken = validate(null, uri("/ok"));
+
+        assertTrue(broken.isEmpty());
+        assertEquals(1, count("HEAD /ok"));
+    }
+
+    @Test
+    public void notFound() {
+        var broken = validate(null, uri("/missing"), URI.create("missing.html"));
+
+        assertEquals(Map.of(uri("/missing"), "HTTP 404",
+                            URI.create("missing.html"), "No such file"),
+                     broken);
+    }
+
+    @Test
+    public void fallsBackToGet() {
+        var broken = validate(null, uri("/get-only"));
+
+        assertTrue(broken.isEmpty());
+        assertEquals(1, count("HEAD /get-only"));
+        assertEquals(1, count("GET /get-only"));
+    }
+
+    @Test
+    public void reusesCache() throws IOException {
+        var cache = root.resolve("links.txt");
+
+        assertTrue(validate(cache, uri("/ok")).isEmpty());
+        assertTrue(Files.isRegularFile(cache));
+        assertTrue(validate(cache, uri("/ok")).isEmpty());
+        assertEquals(1, count("HEAD /ok"));
+
+        assertEquals(Map.of(uri("/missing"), "HTTP 404"), validate(cache, uri("/missing")));
+        assertEquals(Map.of(uri("/missing"), "HTTP 404"), validate(cache, uri("/missing")));
+        assertEquals(2, count("HEAD /missing"));
+    }
+
+    private Map<URI,String> validate(Path cache, URI... links) {
+        var validator =
+            new LinkValidator(root, cache, Duration.ofHours(1), 2, 1, Duration.ofSeconds(10));
+        var map = new ConcurrentHashMap<URI,String>();
+
+        for (var link : List.of(links)) {
+            map.put(link, "test");
+        }
+
+        return validator.validate(map);
+    }
+
+    private URI uri(String path) {
+        var address = server.getAddress();
+
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + path);
+    }
+
+    private int count(String key) {
+        return requests.getOrDefault(key, new AtomicInteger()).get();
+    }
+
+    private void respond(HttpExchange exchange, int status) throws IOException {
+        try {
+            requests.computeIfAbsent(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath(),
+                                     k -> new AtomicInteger())
+                .incrementAndGet();
+            exchange.sendResponseHeaders(status, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+}
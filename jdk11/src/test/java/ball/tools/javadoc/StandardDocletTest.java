@@ -0,0 +1,107 @@
+package ball.tools.javadoc;
+/*-
+ * ##########################################################################
+ * Utilities
+ * %%
+ * Copyright (C) 2020 - 2023 Allen D. Ball
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ##########################################################################
+ */
+import com.sun.source.util.DocTreePath;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+import jdk.javadoc.doclet.Reporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link StandardDoclet} option tests.
+ *
+ * @author {@link.uri mailto:ball@hcf.dev Allen D. Ball}
+ */
+public class StandardDocletTest {
+    private final List<String> errors = new ArrayList<>();
+    private StandardDoclet doclet = null;
+
+    @BeforeEach
+    public void init() {
+        doclet = new StandardDoclet();
+        doclet.init(Locale.getDefault(), new ReporterImpl());
+    }
+
+    @Test
+    public void acceptsIntegralOptions() {
+        assertTrue(process(StandardDoclet.RENDER_LIMIT, "10"));
+        assertTrue(process(StandardDoclet.TIMEOUT, " 500 "));
+        assertEquals("10", doclet.options.get(StandardDoclet.RENDER_LIMIT));
+        assertEquals("500", doclet.options.get(StandardDoclet.TIMEOUT));
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void rejectsInvalidIntegralOptions() {
+        assertFalse(process(StandardDoclet.RENDER_LIMIT, "ten"));
+        assertFalse(process(StandardDoclet.TIMEOUT, "0"));
+        assertFalse(process(StandardDoclet.RENDER_DEPTH, "-1"));
+        assertFalse(process(StandardDoclet.LINK_THREADS, "0"));
+        assertFalse(doclet.options.containsKey(StandardDoclet.RENDER_LIMIT));
+        assertEquals(4, errors.size());
+    }
+
+    @Test
+    public void acceptsOtherOptions() {
+        assertTrue(process(StandardDoclet.MAN_URL, "https://man7.org/{name}.{section}.html"));
+        assertTrue(process(StandardDoclet.ELEMENT_MODEL));
+        assertEquals("true", doclet.options.get(StandardDoclet.ELEMENT_MODEL));
+        assertTrue(errors.isEmpty());
+    }
+
+    private boolean process(String name, String... argv) {
+        var option =
+            doclet.getSupportedOptions().stream()
+            .filter(t -> t.getNames().contains(name))
+            .findFirst().get();
+
+        assertEquals(argv.length, option.getArgumentCount());
+
+        return option.process(name, List.of(argv));
+    }
+
+    private class ReporterImpl implements Reporter {
+        @Override
+        public void print(Diagnostic.Kind kind, String message) {
+            if (kind == ERROR) {
+                errors.add(message);
+            }
+        }
+
+        @Override
+        public void print(Diagnostic.Kind kind, DocTreePath path, String message) {
+            print(kind, message);
+        }
+
+        @Override
+        public void print(Diagnostic.Kind kind, Element element, String message) {
+            print(kind, message);
+        }
+    }
+}